@@ -0,0 +1,55 @@
+package com.selenium.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Response handling in {@link ApiTestSupport} and {@link BookJsonReader} on {@code /Books} payloads from today's
+ * 8 books up to 800.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiPayloadBenchmark {
+    @Param({"8", "800"})
+    public int books;
+
+    private byte[] payloadBytes;
+
+    @Setup
+    public void setUp() {
+        payloadBytes = BookStorePayloads.books(books).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String firstIsbn() throws IOException {
+        return BookJsonReader.firstIsbn(new ByteArrayInputStream(payloadBytes));
+    }
+
+    @Benchmark
+    public List<Book> readBooks() throws IOException {
+        return BookJsonReader.readBooks(new ByteArrayInputStream(payloadBytes));
+    }
+
+    @Benchmark
+    public String readAll() throws IOException {
+        return ApiTestSupport.readAll(new ByteArrayInputStream(payloadBytes));
+    }
+}
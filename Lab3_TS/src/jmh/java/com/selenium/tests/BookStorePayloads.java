@@ -0,0 +1,47 @@
+package com.selenium.tests;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Builds {@code /Books} payloads of any size from the catalogue that {@link LocalBookStore} serves. */
+final class BookStorePayloads {
+    private static final List<String> CATALOGUE_BOOKS = readCatalogueBooks();
+
+    private BookStorePayloads() {
+    }
+
+    /** A {@code {"books":[...]}} document with {@code count} books, one per line like the real endpoint. */
+    static String books(int count) {
+        StringBuilder json = new StringBuilder("{\"books\":[\n");
+        for (int i = 0; i < count; i++) {
+            String book = CATALOGUE_BOOKS.get(i % CATALOGUE_BOOKS.size());
+            if (i >= CATALOGUE_BOOKS.size()) {
+                book = book.replaceFirst("\"isbn\":\"(\\d+)\"", "\"isbn\":\"$1-" + i + "\"");
+            }
+            json.append(book).append(i + 1 < count ? ",\n" : "\n");
+        }
+        return json.append("]}").toString();
+    }
+
+    private static List<String> readCatalogueBooks() {
+        try (InputStream in = BookStorePayloads.class.getResourceAsStream("/localsite/books.json")) {
+            if (in == null) {
+                throw new IllegalStateException("Missing test resource /localsite/books.json");
+            }
+            List<String> books = new ArrayList<>();
+            for (String line : new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+                String trimmed = line.strip();
+                if (trimmed.startsWith("{\"isbn\"")) {
+                    books.add(trimmed.endsWith(",") ? trimmed.substring(0, trimmed.length() - 1) : trimmed);
+                }
+            }
+            return books;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
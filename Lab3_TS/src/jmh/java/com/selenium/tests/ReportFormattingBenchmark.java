@@ -0,0 +1,55 @@
+package com.selenium.tests;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** {@link App} cell formatting over report tables far larger than today's suite. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportFormattingBenchmark {
+    @Param({"100", "10000"})
+    public int rows;
+
+    private String[] identifiers;
+    private String[] cells;
+
+    @Setup
+    public void setUp() {
+        identifiers = new String[rows];
+        cells = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            identifiers[i] = "shouldSortAuthorAndPublisherAcrossPages_HTTPRetry" + i;
+            cells[i] = "Expected | actual mismatch on row " + i + "\nat UiBookTitleSortingTest.assertSorted"
+                + " (expected <Git Pocket Guide> but was <Learning JavaScript Design Patterns>)";
+        }
+    }
+
+    @Benchmark
+    public void escapeMd(Blackhole blackhole) {
+        for (String cell : cells) {
+            blackhole.consume(App.escapeMd(cell));
+        }
+    }
+
+    @Benchmark
+    public void humanizeIdentifier(Blackhole blackhole) {
+        for (String identifier : identifiers) {
+            blackhole.consume(App.humanizeIdentifier(identifier));
+        }
+    }
+}
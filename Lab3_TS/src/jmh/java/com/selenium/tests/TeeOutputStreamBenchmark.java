@@ -0,0 +1,87 @@
+package com.selenium.tests;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.runner.Description;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Console capture through {@link App.TeeOutputStream} the way the suite wires it: an autoflushing UTF-8
+ * {@link PrintStream} over the tee, with every benchmark thread inside a running test so each line reaches
+ * the recorder. The real console is replaced by a null stream so only the harness cost is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TeeOutputStreamBenchmark {
+    @Param({"80", "2000"})
+    public int lineLength;
+
+    private String line;
+    private App.TestRunRecorder recorder;
+    private PrintStream out;
+
+    /** A fresh recorder per iteration keeps captured output from growing across the whole run. */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        line = "x".repeat(lineLength);
+        recorder = new App.TestRunRecorder();
+        out = new PrintStream(
+            new App.TeeOutputStream(new PrintStream(OutputStream.nullOutputStream()), recorder),
+            true,
+            StandardCharsets.UTF_8
+        );
+    }
+
+    @Benchmark
+    public void println(RunningTest test) {
+        out.println(line);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void printlnContended(RunningTest test) {
+        out.println(line);
+    }
+
+    /** Marks the benchmark thread as running its own test, as a JUnit worker would be. */
+    @State(Scope.Thread)
+    public static class RunningTest {
+        private static final AtomicInteger IDS = new AtomicInteger();
+
+        private Description description;
+
+        @Setup(Level.Iteration)
+        public void start(TeeOutputStreamBenchmark benchmark) {
+            description = Description.createTestDescription(
+                TeeOutputStreamBenchmark.class,
+                "run" + IDS.incrementAndGet()
+            );
+            benchmark.recorder.testStarted(description);
+        }
+
+        @TearDown(Level.Iteration)
+        public void finish(TeeOutputStreamBenchmark benchmark) {
+            benchmark.recorder.testFinished(description);
+        }
+    }
+}
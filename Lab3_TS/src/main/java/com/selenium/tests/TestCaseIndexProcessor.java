@@ -0,0 +1,184 @@
+package com.selenium.tests;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Compile-time indexer for the test sources: records every JUnit {@code @Test} method of the suite, with its
+ * {@code @TestCase} report metadata when present, in {@value #INDEX_RESOURCE} so the runner can enumerate
+ * tests without scanning the classpath or reflecting over classes. A class belongs to the suite when at least
+ * one of its tests has {@code @TestCase}; the harness's own unit tests have none and run under surefire only.
+ *
+ * <p>One line per test, tab-separated: binary class name, method name, then either nothing or the six
+ * {@code @TestCase} values (name, area, type, expected, actualOnPass, order). Backslash, tab and newline
+ * inside a value are escaped as {@code \\}, {@code \t} and {@code \n}. Lines are sorted by class and
+ * method; the runner orders tests by {@code order}.
+ *
+ * <p>An incremental compile only sees the changed sources, so the index already in the class output is
+ * merged rather than replaced: its lines for classes compiled now, or for classes that no longer exist, are
+ * dropped and the rest are kept.
+ */
+@SupportedAnnotationTypes({TestCaseIndexProcessor.JUNIT_TEST, TestCaseIndexProcessor.TEST_CASE})
+public final class TestCaseIndexProcessor extends AbstractProcessor {
+    static final String INDEX_RESOURCE = "META-INF/selenium-tests/test-cases.index";
+    static final String JUNIT_TEST = "org.junit.Test";
+    static final String TEST_CASE = "com.selenium.tests.TestCase";
+
+    private static final String[] METADATA = {"name", "area", "type", "expected", "actualOnPass", "order"};
+
+    private final Map<String, String> lines = new TreeMap<>();
+    private final Set<String> compiledClasses = new HashSet<>();
+    private final Set<String> suiteClasses = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element root : roundEnv.getRootElements()) {
+            collectClasses(root);
+        }
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.METHOD) {
+                    index((ExecutableElement) element);
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !compiledClasses.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void index(ExecutableElement method) {
+        TypeElement owner = (TypeElement) method.getEnclosingElement();
+        AnnotationMirror test = find(method, JUNIT_TEST);
+        AnnotationMirror testCase = find(method, TEST_CASE);
+        if (test == null) {
+            processingEnv.getMessager().printMessage(
+                Diagnostic.Kind.WARNING,
+                "@TestCase on a method without @Test is never run",
+                method
+            );
+            return;
+        }
+        if (owner.getModifiers().contains(Modifier.ABSTRACT)) {
+            return;
+        }
+
+        String className = processingEnv.getElementUtils().getBinaryName(owner).toString();
+        StringBuilder line = new StringBuilder(escape(className)).append('\t').append(method.getSimpleName());
+        if (testCase != null) {
+            suiteClasses.add(className);
+            Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                processingEnv.getElementUtils().getElementValuesWithDefaults(testCase);
+            for (String field : METADATA) {
+                line.append('\t').append(escape(valueOf(values, field)));
+            }
+        }
+        lines.put(className + "#" + method.getSimpleName(), line.toString());
+    }
+
+    private void collectClasses(Element element) {
+        if (element instanceof TypeElement type) {
+            compiledClasses.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+            for (Element enclosed : type.getEnclosedElements()) {
+                collectClasses(enclosed);
+            }
+        }
+    }
+
+    /** Adds the previous index's lines for classes this compile did not see but that are still on the path. */
+    private void mergePreviousIndex() throws IOException {
+        FileObject previous;
+        try {
+            previous = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+        } catch (IOException | IllegalArgumentException e) {
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(previous.openInputStream(), StandardCharsets.UTF_8)
+        )) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t", 3);
+                if (fields.length < 2 || compiledClasses.contains(fields[0])
+                    || processingEnv.getElementUtils().getTypeElement(fields[0].replace('$', '.')) == null) {
+                    continue;
+                }
+                lines.putIfAbsent(fields[0] + "#" + fields[1], line);
+            }
+        } catch (NoSuchFileException | FileNotFoundException e) {
+            // First compile: there is nothing to merge.
+        }
+    }
+
+    private void writeIndex() {
+        try {
+            lines.keySet().removeIf(key -> !suiteClasses.contains(key.substring(0, key.lastIndexOf('#'))));
+            mergePreviousIndex();
+            if (lines.isEmpty()) {
+                return;
+            }
+            FileObject index = processingEnv.getFiler()
+                .createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            try (Writer writer = index.openWriter()) {
+                for (String line : lines.values()) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write test index: " + e);
+        }
+    }
+
+    private static AnnotationMirror find(Element element, String annotationType) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(annotationType)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static String valueOf(Map<? extends ExecutableElement, ? extends AnnotationValue> values, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : values.entrySet()) {
+            if (value.getKey().getSimpleName().contentEquals(name)) {
+                return String.valueOf(value.getValue().getValue());
+            }
+        }
+        return "";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n");
+    }
+}
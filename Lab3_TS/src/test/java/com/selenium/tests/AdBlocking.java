@@ -0,0 +1,57 @@
+package com.selenium.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.openqa.selenium.chrome.ChromeDriver;
+
+/**
+ * Blocks ad and tracker hosts at the network layer (CDP {@code Network.setBlockedURLs}) so their requests
+ * never leave the browser. The host list comes from {@code -Dui.blockedHosts=a.com,b.net}; an empty value
+ * turns blocking off and brings back the per-click {@link UiTestSupport#removeAds} clean-up.
+ */
+final class AdBlocking {
+    private static final String DEFAULT_HOSTS = String.join(
+        ",",
+        "googlesyndication.com",
+        "doubleclick.net",
+        "googletagservices.com",
+        "googletagmanager.com",
+        "google-analytics.com",
+        "adservice.google.com",
+        "amazon-adsystem.com",
+        "ad.plus",
+        "adplus.io"
+    );
+    private static final List<String> BLOCKED_HOSTS = parseHosts(System.getProperty("ui.blockedHosts", DEFAULT_HOSTS));
+
+    private AdBlocking() {
+    }
+
+    static boolean isEnabled() {
+        return !BLOCKED_HOSTS.isEmpty();
+    }
+
+    /** Installs the host block list plus any resource patterns the active {@link UiProfile} blocks. */
+    static void install(ChromeDriver driver) {
+        List<String> patterns = new ArrayList<>(UiProfile.ACTIVE.blockedUrlPatterns());
+        for (String host : BLOCKED_HOSTS) {
+            patterns.add("*" + host + "*");
+        }
+        if (patterns.isEmpty()) {
+            return;
+        }
+        driver.executeCdpCommand("Network.enable", Map.of());
+        driver.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", patterns));
+    }
+
+    private static List<String> parseHosts(String value) {
+        List<String> hosts = new ArrayList<>();
+        for (String host : value.split(",")) {
+            if (!host.isBlank()) {
+                hosts.add(host.strip());
+            }
+        }
+        return List.copyOf(hosts);
+    }
+}
@@ -1,28 +1,44 @@
 package com.selenium.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.util.List;
 
 import org.junit.Assume;
 import org.junit.Test;
 
 public class ApiBooksListTest {
     @Test
+    @TestCase(
+        name = "API - Fetch Books List",
+        area = "API",
+        type = "Positive",
+        expected = "Books endpoint should return 200 and include books/ISBN data.",
+        actualOnPass = "Observed 200 response with books and ISBN fields.",
+        order = 110
+    )
     public void shouldReturnBooksListFromApi() throws Exception {
-        ApiTestSupport.HttpResponse response;
+        ApiTestSupport.ParsedResponse<List<Book>> response;
         try {
-            response = ApiTestSupport.httpGet(ApiTestSupport.API_BASE + "/Books");
+            response = ApiTestSupport.httpGet(ApiTestSupport.API_BASE + "/Books", BookJsonReader::readBooks);
         } catch (SocketException | UnknownHostException e) {
-            Assume.assumeTrue("Skipping test because API endpoint is not reachable: " + e.getMessage(), false);
+            Assume.assumeTrue(
+                "Skipping test because API endpoint is not reachable after retries: " + e.getMessage(),
+                false
+            );
             return;
         }
 
         assertEquals(200, response.statusCode);
-        assertTrue("Expected non-empty API response body", response.body != null && !response.body.isEmpty());
-        assertTrue("Expected books array in response", response.body.contains("\"books\""));
-        assertTrue("Expected at least one ISBN", response.body.contains("\"isbn\""));
+        assertNotNull("Expected books array in response", response.value);
+        assertFalse("Expected at least one book", response.value.isEmpty());
+        for (Book book : response.value) {
+            assertTrue("Expected every book to have an ISBN", book.isbn() != null && !book.isbn().isBlank());
+        }
     }
 }
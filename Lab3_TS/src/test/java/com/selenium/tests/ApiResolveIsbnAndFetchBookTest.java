@@ -1,19 +1,31 @@
 package com.selenium.tests;
 
 import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertNotNull;
 
 import org.junit.Test;
 
 public class ApiResolveIsbnAndFetchBookTest {
     @Test
+    @TestCase(
+        name = "API - Resolve ISBN From List And Fetch Details",
+        area = "API",
+        type = "Positive",
+        expected = "First ISBN from books list should resolve to a 200 response for book details.",
+        actualOnPass = "Observed list fetch succeeded and resolved ISBN fetch returned 200.",
+        order = 130
+    )
     public void shouldResolveIsbnFromListAndFetchBook() throws Exception {
-        ApiTestSupport.HttpResponse listResponse = ApiTestSupport.httpGet(ApiTestSupport.API_BASE + "/Books");
+        ApiTestSupport.ParsedResponse<String> listResponse =
+            ApiTestSupport.httpGet(ApiTestSupport.API_BASE + "/Books", BookJsonReader::firstIsbn);
         assertEquals(200, listResponse.statusCode);
+        assertNotNull("No ISBN found in book list response", listResponse.value);
 
-        String isbn = ApiTestSupport.extractFirstIsbn(listResponse.body);
-        ApiTestSupport.HttpResponse bookResponse = ApiTestSupport.httpGet(ApiTestSupport.API_BASE + "/Book?ISBN=" + isbn);
+        String isbn = listResponse.value;
+        ApiTestSupport.ParsedResponse<Book> bookResponse =
+            ApiTestSupport.httpGet(ApiTestSupport.API_BASE + "/Book?ISBN=" + isbn, BookJsonReader::readBook);
         assertEquals(200, bookResponse.statusCode);
-        assertTrue(bookResponse.body.contains("\"isbn\":\"" + isbn + "\""));
+        assertNotNull("Expected book details in response", bookResponse.value);
+        assertEquals(isbn, bookResponse.value.isbn());
     }
 }
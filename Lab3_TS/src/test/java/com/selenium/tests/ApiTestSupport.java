@@ -4,42 +4,198 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
 import java.nio.charset.StandardCharsets;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.net.ssl.SSLSession;
 
 final class ApiTestSupport {
-    static final String API_BASE = "https://demoqa.com/BookStore/v1";
+    static final String API_BASE = TestSite.BASE_URL + "/BookStore/v1";
     private static final int TIMEOUT_MS = 10_000;
 
+    /** One client for the whole run so connections (and HTTP/2 streams) are reused across tests. */
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_2)
+        .connectTimeout(Duration.ofMillis(TIMEOUT_MS))
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .build();
+    private static final ConnectionStats STATS = new ConnectionStats();
+    /** Kept apart so a load run does not drown the suite's own calls in the report. */
+    private static final ConnectionStats LOAD_STATS = new ConnectionStats();
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(429, 502, 503, 504);
+
     private ApiTestSupport() {
     }
 
     static HttpResponse httpGet(String url) throws IOException {
-        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
-        connection.setRequestMethod("GET");
-        connection.setConnectTimeout(TIMEOUT_MS);
-        connection.setReadTimeout(TIMEOUT_MS);
-        connection.connect();
+        try (PhaseTimings.Scope ignored = PhaseTimings.start(PhaseTimings.Phase.HTTP, url)) {
+            if (HttpCassette.covers(url)) {
+                HttpCassette.Recording recording = cassetteGet(url);
+                return new HttpResponse(recording.status(), readAll(recording.body()), null);
+            }
+            return toResponse(send(url));
+        }
+    }
+
+    /**
+     * Sends a GET and hands a successful body stream straight to {@code parser}, so the payload is never
+     * buffered as a String. Error bodies are discarded and leave {@link ParsedResponse#value} {@code null}.
+     * BookStore calls go through {@link HttpCassette} when one is enabled.
+     */
+    static <T> ParsedResponse<T> httpGet(String url, BodyParser<T> parser) throws IOException {
+        try (PhaseTimings.Scope ignored = PhaseTimings.start(PhaseTimings.Phase.HTTP, url)) {
+            if (HttpCassette.covers(url)) {
+                HttpCassette.Recording recording = cassetteGet(url);
+                int status = recording.status();
+                T value = status >= 200 && status < 300 ? parser.parse(recording.body()) : null;
+                return new ParsedResponse<>(status, value);
+            }
+            return parse(send(url), parser, STATS);
+        }
+    }
+
+    /**
+     * Like {@link #httpGet(String, BodyParser)} but always on the network and never retried, for load runs,
+     * where a failed request is a result to count rather than a fault to hide.
+     */
+    static <T> ParsedResponse<T> httpGetLive(String url, BodyParser<T> parser) throws IOException {
+        try (PhaseTimings.Scope ignored = PhaseTimings.start(PhaseTimings.Phase.HTTP, url)) {
+            return parse(sendOnce(getRequest(url), url), parser, LOAD_STATS);
+        }
+    }
+
+    /**
+     * POSTs a JSON body, optionally with a bearer token, and parses a successful response like
+     * {@link #httpGet(String, BodyParser)}.
+     */
+    static <T> ParsedResponse<T> httpPostJson(String url, String json, String bearerToken, BodyParser<T> parser)
+        throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+            .timeout(Duration.ofMillis(TIMEOUT_MS))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json, StandardCharsets.UTF_8));
+        if (bearerToken != null) {
+            request.header("Authorization", "Bearer " + bearerToken);
+        }
+        try (PhaseTimings.Scope ignored = PhaseTimings.start(PhaseTimings.Phase.HTTP, "POST " + url)) {
+            return parse(send(request.build(), url), parser, STATS);
+        }
+    }
+
+    private static <T> ParsedResponse<T> parse(
+        java.net.http.HttpResponse<InputStream> response,
+        BodyParser<T> parser,
+        ConnectionStats stats
+    ) throws IOException {
+        stats.record(response.version(), response.sslSession().orElse(null));
+        try (InputStream stream = response.body()) {
+            int status = response.statusCode();
+            T value = status >= 200 && status < 300 ? parser.parse(stream) : null;
+            return new ParsedResponse<>(status, value);
+        }
+    }
+
+    /** Counters for the suite's own calls; {@link #loadConnectionStats()} has those of the load run. */
+    static ConnectionStats connectionStats() {
+        return STATS;
+    }
+
+    static ConnectionStats loadConnectionStats() {
+        return LOAD_STATS;
+    }
+
+    /**
+     * Serves a BookStore GET according to {@link HttpCassette#MODE}: from the store in replay mode or while a
+     * recording is fresh, otherwise from the network (conditionally in refresh mode), recording what comes back.
+     */
+    private static HttpCassette.Recording cassetteGet(String url) throws IOException {
+        HttpCassette.Recording recorded = HttpCassette.find(url);
+        if (HttpCassette.MODE == HttpCassette.Mode.REPLAY
+            || HttpCassette.MODE == HttpCassette.Mode.REFRESH && recorded != null && !recorded.isStale()) {
+            if (recorded == null) {
+                throw new IOException("No recording of GET " + url + " in " + HttpCassette.FILE);
+            }
+            HttpCassette.replayed();
+            return recorded;
+        }
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+            .timeout(Duration.ofMillis(TIMEOUT_MS))
+            .GET();
+        String etag = recorded == null ? null : recorded.etag();
+        if (HttpCassette.MODE == HttpCassette.Mode.REFRESH && etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        java.net.http.HttpResponse<InputStream> response = send(request.build(), url);
+        STATS.record(response.version(), response.sslSession().orElse(null));
+        try (InputStream stream = response.body()) {
+            if (response.statusCode() == 304 && recorded != null) {
+                HttpCassette.revalidated(recorded);
+                return recorded;
+            }
+            return HttpCassette.record(url, response.statusCode(), response.headers().map(), stream.readAllBytes());
+        }
+    }
+
+    private static java.net.http.HttpResponse<InputStream> send(String url) throws IOException {
+        return send(getRequest(url), url);
+    }
+
+    /** Sends under {@link RetryPolicy}: failed attempts and 429/502-504 responses are retried with backoff. */
+    private static java.net.http.HttpResponse<InputStream> send(HttpRequest request, String url) throws IOException {
+        RetryPolicy.Kind kind = "GET".equals(request.method()) ? RetryPolicy.Kind.HTTP_GET : RetryPolicy.Kind.HTTP_POST;
+        return RetryPolicy.run(
+            kind,
+            request.method() + " " + url,
+            () -> sendOnce(request, url),
+            response -> RETRYABLE_STATUSES.contains(response.statusCode()) ? "HTTP " + response.statusCode() : null,
+            ApiTestSupport::discard
+        );
+    }
+
+    private static java.net.http.HttpResponse<InputStream> sendOnce(HttpRequest request, String url)
+        throws IOException {
+        try {
+            return CLIENT.send(request, BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while calling " + url);
+        }
+    }
+
+    private static void discard(java.net.http.HttpResponse<InputStream> response) {
+        try (InputStream body = response.body()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            // The connection is dropped instead of returned to the pool; the retry opens another.
+        }
+    }
 
-        int status = connection.getResponseCode();
-        InputStream stream = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
-        String body = stream == null ? "" : readAll(stream);
-        connection.disconnect();
-        return new HttpResponse(status, body);
+    private static HttpRequest getRequest(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+            .timeout(Duration.ofMillis(TIMEOUT_MS))
+            .GET()
+            .build();
     }
 
-    static String extractFirstIsbn(String json) {
-        Matcher matcher = Pattern.compile("\\\"isbn\\\"\\s*:\\s*\\\"([^\\\"]+)\\\"").matcher(json);
-        if (matcher.find()) {
-            return matcher.group(1);
+    private static HttpResponse toResponse(java.net.http.HttpResponse<InputStream> response) throws IOException {
+        SSLSession sslSession = response.sslSession().orElse(null);
+        STATS.record(response.version(), sslSession);
+        try (InputStream stream = response.body()) {
+            return new HttpResponse(response.statusCode(), readAll(stream), sslSession);
         }
-        throw new AssertionError("No ISBN found in book list response");
     }
 
-    private static String readAll(InputStream stream) throws IOException {
+    static String readAll(InputStream stream) throws IOException {
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
             StringBuilder sb = new StringBuilder();
             String line;
@@ -53,10 +209,66 @@ final class ApiTestSupport {
     static final class HttpResponse {
         final int statusCode;
         final String body;
+        final SSLSession sslSession;
 
-        HttpResponse(int statusCode, String body) {
+        HttpResponse(int statusCode, String body, SSLSession sslSession) {
             this.statusCode = statusCode;
             this.body = body;
+            this.sslSession = sslSession;
+        }
+    }
+
+    static final class ParsedResponse<T> {
+        final int statusCode;
+        final T value;
+
+        ParsedResponse(int statusCode, T value) {
+            this.statusCode = statusCode;
+            this.value = value;
+        }
+    }
+
+    @FunctionalInterface
+    interface BodyParser<T> {
+        T parse(InputStream body) throws IOException;
+    }
+
+    /**
+     * Counts requests and the TLS handshakes behind them. The JDK client does not expose its connection
+     * pool, so a new (session id, creation time) pair is taken as a new connection; plain-HTTP requests
+     * are counted but cannot be attributed to a connection.
+     */
+    static final class ConnectionStats {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong http2Responses = new AtomicLong();
+        private final AtomicLong tlsRequests = new AtomicLong();
+        private final Set<String> tlsSessions = ConcurrentHashMap.newKeySet();
+
+        private void record(HttpClient.Version version, SSLSession sslSession) {
+            requests.incrementAndGet();
+            if (version == HttpClient.Version.HTTP_2) {
+                http2Responses.incrementAndGet();
+            }
+            if (sslSession != null) {
+                tlsRequests.incrementAndGet();
+                tlsSessions.add(Arrays.toString(sslSession.getId()) + "@" + sslSession.getCreationTime());
+            }
+        }
+
+        long requests() {
+            return requests.get();
+        }
+
+        long http2Responses() {
+            return http2Responses.get();
+        }
+
+        long tlsConnections() {
+            return tlsSessions.size();
+        }
+
+        long reusedTlsRequests() {
+            return Math.max(0L, tlsRequests.get() - tlsSessions.size());
         }
     }
 }
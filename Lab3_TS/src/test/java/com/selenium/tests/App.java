@@ -1,51 +1,83 @@
 package com.selenium.tests;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
-import java.lang.reflect.Method;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import org.junit.Test;
-import org.junit.runner.JUnitCore;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.junit.runner.Description;
+import org.junit.runner.Request;
 import org.junit.runner.Result;
+import org.junit.runner.Runner;
 import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
 
 public class App {
     private static final Path REPORT_PATH = Paths.get("results.md");
     private static final Path LEGACY_REPORT_PATH = Paths.get("target", "test-case-results.md");
+    private static final Path PHASE_TIMINGS_PATH = Paths.get("target", "phase-timings.csv");
+    private static final Path HISTORY_PATH = Paths.get(System.getProperty("history.file", "run-history.csv"));
+    private static final int HISTORY_RUNS = Integer.getInteger("history.runs", 20);
+    private static final double REGRESSION_FACTOR =
+        Double.parseDouble(System.getProperty("history.regressionFactor", "1.5"));
+    private static final long REGRESSION_MIN_DELTA_MS = Long.getLong("history.minDeltaMs", 250L);
+    private static final int MAX_OUTPUT_CHARS = Integer.getInteger("report.maxOutputChars", 4000);
+    private static final boolean FAIL_FAST = Boolean.getBoolean("failFast");
 
     public static void main(String[] args) {
-        Class<?>[] testClasses = {
-            UiBaseElementsTest.class,
-            UiLoginNavigationTest.class,
-            UiSideMenuNavigationTest.class,
-            UiBookSearchFilterTest.class,
-            UiBookTitleSortingTest.class,
-            UiOpenBookDetailsTest.class,
-            UiAddToCollectionAuthTest.class,
-            ApiBooksListTest.class,
-            ApiBookByIsbnTest.class,
-            ApiResolveIsbnAndFetchBookTest.class,
-            SecuritySslCertificateTest.class,
-            SecuritySearchBoxXssTest.class
-        };
+        TestCatalog catalog = TestCatalog.load();
+        int parallelism = Integer.getInteger("parallel", 1);
+        TestScheduler scheduler = openScheduler(catalog);
+        List<Class<?>> testClasses;
+        if (scheduler == null) {
+            testClasses = List.of(catalog.testClasses());
+        } else {
+            testClasses = parallelism > 1 ? scheduler.longestFirst() : scheduler.failureFirst();
+            System.out.println("Schedule: " + (parallelism > 1 ? "longest first" : "likely failures first") + ", "
+                + testClasses.stream().map(Class::getSimpleName).toList());
+        }
 
-        JUnitCore core = new JUnitCore();
-        TestRunRecorder recorder = new TestRunRecorder();
-        core.addListener(recorder);
+        StreamingReport report = openReport(catalog);
+        TestRunRecorder recorder = new TestRunRecorder(report);
+        FailFast failFast = new FailFast(FAIL_FAST);
+        ClassRunner classRunner = new ClassRunner(recorder, failFast, scheduler == null ? null : scheduler.testOrder());
 
         PrintStream originalOut = System.out;
         PrintStream teeOut = new PrintStream(
@@ -55,111 +87,452 @@ public class App {
         );
         System.setOut(teeOut);
 
-        Result result;
+        SuiteResult result;
+        ResourceSampler.Summary resourceUsage;
+        List<LoadGenerator.EndpointResult> loadResults = List.of();
+        ResourceSampler.start();
         try {
-            result = core.run(testClasses);
+            // Sampling covers the tests only; the load run that may follow is not charged to them.
+            try {
+                result = parallelism > 1
+                    ? runParallel(testClasses, classRunner, parallelism)
+                    : runSequential(testClasses, classRunner);
+            } finally {
+                resourceUsage = ResourceSampler.stop();
+            }
+            if (LoadGenerator.ENABLED) {
+                loadResults = runLoad();
+            }
         } finally {
             teeOut.flush();
             System.setOut(originalOut);
+            DriverPool.shutdownShared();
+            LocalBookStore.stop();
         }
 
-        for (Failure failure : result.getFailures()) {
+        for (Failure failure : result.failures()) {
             System.out.println("FAIL: " + failure.getTestHeader());
             System.out.println("  " + failure.getMessage());
         }
 
-        System.out.println("Total: " + result.getRunCount());
-        System.out.println("Failed: " + result.getFailureCount());
-        System.out.println("Ignored: " + result.getIgnoreCount());
-        System.out.println("Time: " + result.getRunTime() + " ms");
+        System.out.println("Total: " + result.runCount());
+        System.out.println("Failed: " + result.failureCount());
+        System.out.println("Ignored: " + result.ignoreCount());
+        System.out.println("Time: " + result.runTime() + " ms");
+        if (failFast.tripped()) {
+            System.out.println("Fail-fast: stopped after the first failure; remaining tests are reported as NOT RUN.");
+        }
+
+        if (report != null) {
+            try {
+                report.finish(loadResults, resourceUsage);
+                linkLegacyReport();
+                System.out.println("Report: " + REPORT_PATH.toAbsolutePath());
+                System.out.println("Report: " + LEGACY_REPORT_PATH.toAbsolutePath());
+                System.out.println("Phase timings: " + PHASE_TIMINGS_PATH.toAbsolutePath());
+                System.out.println("Results feed: " + ResultFeed.NDJSON_PATH.toAbsolutePath());
+                System.out.println("JUnit XML: " + ResultFeed.JUNIT_XML_PATH.toAbsolutePath());
+            } catch (IOException e) {
+                System.out.println("Could not write report file: " + e.getMessage());
+            }
+        }
+
+        if (!result.wasSuccessful()) {
+            System.exit(1);
+        }
+    }
+
+    private static SuiteResult runSequential(List<Class<?>> testClasses, ClassRunner classRunner) {
+        long startedAt = System.currentTimeMillis();
+        List<Result> results = new ArrayList<>();
+        for (Class<?> testClass : testClasses) {
+            results.add(classRunner.run(testClass));
+        }
+        return SuiteResult.of(results, System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * Spreads the test classes over {@code workers} browser threads. Classes that do not drive a browser
+     * (API and SSL checks) get their own single-thread lane so they never wait behind a slow UI class. Each
+     * lane takes classes in submission order, so a longest-first list gives LPT packing per lane.
+     */
+    private static SuiteResult runParallel(List<Class<?>> testClasses, ClassRunner classRunner, int workers) {
+        ExecutorService browserLane = Executors.newFixedThreadPool(workers, laneThreadFactory("ui-worker"));
+        ExecutorService httpLane = Executors.newSingleThreadExecutor(laneThreadFactory("http-worker"));
+        long startedAt = System.currentTimeMillis();
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (Class<?> testClass : testClasses) {
+                ExecutorService lane = UiDriverTestBase.class.isAssignableFrom(testClass) ? browserLane : httpLane;
+                futures.add(lane.submit(() -> classRunner.run(testClass)));
+            }
+
+            List<Result> results = new ArrayList<>();
+            for (Future<Result> future : futures) {
+                results.add(future.get());
+            }
+            return SuiteResult.of(results, System.currentTimeMillis() - startedAt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for test workers", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Test worker crashed", e.getCause());
+        } finally {
+            browserLane.shutdownNow();
+            httpLane.shutdownNow();
+        }
+    }
+
+    private static List<LoadGenerator.EndpointResult> runLoad() {
+        try {
+            return LoadGenerator.run();
+        } catch (IOException e) {
+            System.out.println("Load run skipped: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static ThreadFactory laneThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /** {@code null} (catalogue order) when scheduling is off or the history log cannot be read. */
+    private static TestScheduler openScheduler(TestCatalog catalog) {
+        if (!TestScheduler.ENABLED) {
+            return null;
+        }
+        try {
+            return new TestScheduler(catalog, RunHistory.load(HISTORY_PATH, HISTORY_RUNS, UiProfile.ACTIVE.id()));
+        } catch (IOException e) {
+            System.out.println("Could not read run history, using catalogue order: " + e.getMessage());
+            return null;
+        }
+    }
 
+    private static StreamingReport openReport(TestCatalog catalog) {
         try {
-            writeReport(testClasses, recorder);
-            System.out.println("Report: " + REPORT_PATH.toAbsolutePath());
-            System.out.println("Report: " + LEGACY_REPORT_PATH.toAbsolutePath());
+            return StreamingReport.open(discoverTestCases(catalog), testSpecs(catalog));
         } catch (IOException e) {
             System.out.println("Could not write report file: " + e.getMessage());
+            return null;
         }
+    }
 
-        if (!result.wasSuccessful()) {
-            System.exit(1);
+    /** Points the legacy report path at the finished {@code results.md}, copying only where links are unsupported. */
+    private static void linkLegacyReport() throws IOException {
+        createParentDirectoryIfNeeded(LEGACY_REPORT_PATH);
+        Files.deleteIfExists(LEGACY_REPORT_PATH);
+        try {
+            Files.createLink(LEGACY_REPORT_PATH, REPORT_PATH);
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.copy(REPORT_PATH, LEGACY_REPORT_PATH);
         }
     }
 
-    private static void writeReport(Class<?>[] testClasses, TestRunRecorder recorder) throws IOException {
-        List<TestCaseDefinition> tests = discoverTestCases(testClasses);
-        Map<String, TestCaseSpec> specs = testSpecs();
-        String generatedAt = ZonedDateTime
-            .now(ZoneOffset.UTC)
-            .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss 'UTC'"));
+    private static void appendDetailsRow(StringBuilder rows, String key, TestCaseSpec spec, TestExecution execution) {
+        rows.append("| ")
+            .append(escapeMd(spec.displayName))
+            .append(" | ")
+            .append(escapeMd(key))
+            .append(" | ")
+            .append(escapeMd(spec.area))
+            .append(" | ")
+            .append(escapeMd(spec.type))
+            .append(" | ")
+            .append(escapeMd(spec.expected))
+            .append(" | ")
+            .append(escapeMd(execution.toHumanReadable(spec.actualOnPass)))
+            .append(" | ")
+            .append(statusLabel(execution.status))
+            .append(execution.isFlaky() ? " (flaky)" : "")
+            .append(" | ")
+            .append(formatDuration(execution.elapsedMs))
+            .append(" |\n");
+    }
 
-        int passed = 0;
-        int failed = 0;
-        int ignored = 0;
-        int notRun = 0;
-        long totalElapsedMs = 0L;
+    /**
+     * One Performance History row: p50/p95 over the passing runs among the last {@code history.runs}, this
+     * one included. A passing test is flagged when it ran slower than {@code history.regressionFactor} times
+     * its p95 over the earlier passing runs and by at least {@code history.minDeltaMs}; a failing run shows
+     * its status as the trend instead. Returns the trend.
+     */
+    private static String appendHistoryRow(
+        StringBuilder rows,
+        String key,
+        RunHistory.RunSample sample,
+        RunHistory earlier
+    ) {
+        long current = sample.durationMs();
+        List<Long> baseline = earlier.passedDurations(key, null);
+        List<Long> window = new ArrayList<>(baseline);
+        long baselineP95 = RunHistory.percentile(baseline, 95);
 
-        StringBuilder detailsRows = new StringBuilder();
-        for (TestCaseDefinition test : tests) {
-            String key = test.key();
-            TestCaseSpec spec = specs.getOrDefault(key, defaultSpec(test));
-            TestExecution execution = recorder.executions.getOrDefault(key, TestExecution.notRun());
+        String trend;
+        if (!"PASS".equals(sample.status())) {
+            trend = sample.status();
+        } else {
+            window.add(current);
+            if (baselineP95 < 0L) {
+                trend = "NEW";
+            } else if (current > baselineP95 * REGRESSION_FACTOR
+                && current - baselineP95 >= REGRESSION_MIN_DELTA_MS) {
+                trend = "REGRESSION";
+                System.out.println("Latency regression: " + key + " took " + current + " ms (baseline p95 "
+                    + baselineP95 + " ms)");
+            } else {
+                trend = "OK";
+            }
+        }
 
-            switch (execution.status) {
-                case PASSED -> passed++;
-                case FAILED -> failed++;
-                case IGNORED -> ignored++;
-                case NOT_RUN -> notRun++;
+        rows.append("| ")
+            .append(escapeMd(key))
+            .append(" | ")
+            .append(window.size())
+            .append(" | ")
+            .append(formatDuration(RunHistory.percentile(window, 50)))
+            .append(" | ")
+            .append(formatDuration(RunHistory.percentile(window, 95)))
+            .append(" | ")
+            .append(formatDuration(current))
+            .append(" | ")
+            .append(formatDuration(baselineP95))
+            .append(" | ")
+            .append(trend)
+            .append(" |\n");
+        return trend;
+    }
+
+    private static void appendHistoryHeader(StringBuilder md, int runsInWindow, int regressions) {
+        md.append("\n## Performance History\n\n");
+        md.append("- Window: last ").append(runsInWindow).append(" `").append(UiProfile.ACTIVE.id())
+            .append("` run(s) from `").append(HISTORY_PATH).append("`\n");
+        md.append("- Regression rule: current > ").append(REGRESSION_FACTOR).append("x baseline p95 and +")
+            .append(REGRESSION_MIN_DELTA_MS).append(" ms; percentiles cover passing runs only\n");
+        md.append("- Regressions flagged: ").append(regressions).append("\n\n");
+        md.append("| Technical ID | Passing runs | p50 | p95 | Current | Baseline p95 | Trend |\n");
+        md.append("|---|---:|---:|---:|---:|---:|---|\n");
+    }
+
+    private static void appendUiLatencySection(StringBuilder md, Map<String, List<Double>> metrics) {
+        if (metrics.isEmpty()) {
+            return;
+        }
+        md.append("\n## UI Latency\n\n");
+        md.append("| Metric | Samples | Min | Median | Max |\n");
+        md.append("|---|---:|---:|---:|---:|\n");
+        for (Map.Entry<String, List<Double>> metric : metrics.entrySet()) {
+            List<Double> samples = new ArrayList<>(metric.getValue());
+            samples.sort(Comparator.naturalOrder());
+            md.append("| ")
+                .append(escapeMd(metric.getKey()))
+                .append(" | ")
+                .append(samples.size())
+                .append(" | ")
+                .append(formatMillis(samples.get(0)))
+                .append(" | ")
+                .append(formatMillis(samples.get(samples.size() / 2)))
+                .append(" | ")
+                .append(formatMillis(samples.get(samples.size() - 1)))
+                .append(" |\n");
+        }
+    }
+
+    private static void appendResourceRow(StringBuilder rows, String key, String area, ResourceSampler.Usage usage) {
+        rows.append("| ").append(escapeMd(key)).append(" | ").append(escapeMd(area)).append(" | ")
+            .append(usage.samples()).append(" | ");
+        appendUsageCells(rows, usage);
+        rows.append('\n');
+    }
+
+    private static void appendResourceHeader(StringBuilder md) {
+        md.append("\n## Resource Usage\n\n");
+        md.append("Sampled from `/proc` every ").append(ResourceSampler.INTERVAL_MS)
+            .append(" ms; tests that overlap in parallel mode share the samples taken while both ran. Browser tests")
+            .append(" are charged the JVM, chromedriver and Chrome, other tests the JVM alone; area rows count each")
+            .append(" sample once.\n\n");
+        md.append("| Technical ID | Area | Samples | Avg CPU | Peak CPU | CPU time | Avg RSS | Peak RSS |\n");
+        md.append("|---|---|---:|---:|---:|---:|---:|---:|\n");
+    }
+
+    /**
+     * Usage per area, counting each sample once however many of the area's tests overlapped, plus run-wide
+     * figures per process group. CPU is in percent of one core.
+     */
+    private static void appendResourceTotals(StringBuilder md, ResourceSampler.Summary resources) {
+        Map<ResourceSampler.Group, ResourceSampler.Usage> processUsage = resources.processes();
+        if (!resources.areas().isEmpty()) {
+            md.append("\n| Area | Tests | Samples | Avg CPU | Peak CPU | CPU time | Avg RSS | Peak RSS |\n");
+            md.append("|---|---:|---:|---:|---:|---:|---:|---:|\n");
+            for (Map.Entry<String, ResourceSampler.AreaUsage> area : resources.areas().entrySet()) {
+                ResourceSampler.Usage usage = area.getValue().usage();
+                md.append("| ").append(escapeMd(area.getKey())).append(" | ").append(area.getValue().tests())
+                    .append(" | ").append(usage.samples()).append(" | ");
+                appendUsageCells(md, usage);
+                md.append('\n');
             }
+        }
 
-            if (execution.elapsedMs >= 0L) {
-                totalElapsedMs += execution.elapsedMs;
+        if (!processUsage.isEmpty()) {
+            md.append("\n| Process | Avg CPU | Peak CPU | CPU time | Avg RSS | Peak RSS |\n");
+            md.append("|---|---:|---:|---:|---:|---:|\n");
+            for (Map.Entry<ResourceSampler.Group, ResourceSampler.Usage> process : processUsage.entrySet()) {
+                md.append("| ").append(process.getKey().label).append(" | ");
+                appendUsageCells(md, process.getValue());
+                md.append('\n');
             }
+        }
+    }
+
+    private static void appendUsageCells(StringBuilder md, ResourceSampler.Usage usage) {
+        if (usage.samples() == 0) {
+            md.append("- | - | - | - | - |");
+            return;
+        }
+        md.append(String.format(Locale.ROOT, "%.0f%%", usage.avgCpuPercent())).append(" | ")
+            .append(String.format(Locale.ROOT, "%.0f%%", usage.peakCpuPercent())).append(" | ")
+            .append(String.format(Locale.ROOT, "%.1f s", usage.cpuSeconds())).append(" | ")
+            .append(formatBytes(usage.avgRssBytes())).append(" | ")
+            .append(formatBytes(usage.peakRssBytes())).append(" |");
+    }
+
+    private static String formatBytes(long bytes) {
+        return String.format(Locale.ROOT, "%.0f MB", bytes / (1024.0 * 1024.0));
+    }
 
-            detailsRows.append("| ")
-                .append(escapeMd(spec.displayName))
+    /** Retry count and cost of one test, then one row per retry for the detail table. */
+    private static void appendRetryRows(
+        StringBuilder testRows,
+        StringBuilder retryRows,
+        String key,
+        TestExecution execution
+    ) {
+        String status = statusLabel(execution.status);
+        testRows.append("| ").append(escapeMd(key))
+            .append(" | ").append(status)
+            .append(" | ").append(execution.retries.size())
+            .append(" | ").append(execution.retryNanos / 1_000_000L).append(" ms |\n");
+        for (RetryPolicy.Retry retry : execution.retries) {
+            retryRows.append("| ").append(escapeMd(key))
+                .append(" | ").append(status)
+                .append(" | ").append(retry.kind().label).append(": ").append(escapeMd(retry.operation()))
+                .append(" | ").append(retry.attempt())
+                .append(" | ").append(escapeMd(retry.rule()))
+                .append(" | ").append(escapeMd(retry.reason()))
+                .append(" | ").append(retry.failedNanos() / 1_000_000L).append(" ms")
+                .append(" | ").append(retry.delayMs()).append(" ms |\n");
+        }
+    }
+
+    private static void appendLoadSection(StringBuilder md, List<LoadGenerator.EndpointResult> results) {
+        if (results.isEmpty()) {
+            return;
+        }
+        md.append("\n## API Load\n\n");
+        md.append("Open-loop, constant arrival rate; latency is measured from each request's scheduled start.\n\n");
+        md.append("| Endpoint | Target rate | Max in flight | Requests | Throughput | Error rate |");
+        md.append(" p50 | p99 | p99.9 | Max |\n");
+        md.append("|---|---:|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+        for (LoadGenerator.EndpointResult result : results) {
+            LatencyHistogram latency = result.latency();
+            md.append("| ")
+                .append(escapeMd(result.endpoint()))
+                .append(" | ")
+                .append(result.targetRate())
+                .append("/s | ")
+                .append(result.maxInFlight())
                 .append(" | ")
-                .append(escapeMd(key))
+                .append(latency.totalCount())
                 .append(" | ")
-                .append(escapeMd(spec.area))
+                .append(String.format(Locale.ROOT, "%.1f/s", result.throughputPerSecond()))
                 .append(" | ")
-                .append(escapeMd(spec.type))
+                .append(String.format(Locale.ROOT, "%.2f%%", result.errorRatePercent()))
                 .append(" | ")
-                .append(escapeMd(spec.expected))
+                .append(formatMillis(latency.percentileMillis(50)))
                 .append(" | ")
-                .append(escapeMd(execution.toHumanReadable(spec.actualOnPass)))
+                .append(formatMillis(latency.percentileMillis(99)))
                 .append(" | ")
-                .append(statusLabel(execution.status))
+                .append(formatMillis(latency.percentileMillis(99.9)))
                 .append(" | ")
-                .append(formatDuration(execution.elapsedMs))
+                .append(formatMillis(latency.maxMillis()))
                 .append(" |\n");
         }
+    }
+
+    private static void appendPhaseRow(StringBuilder rows, String key, TestExecution execution) {
+        long trackedNanos = 0L;
+        rows.append("| ").append(escapeMd(key)).append(" |");
+        for (PhaseTimings.Phase phase : PhaseTimings.Phase.values()) {
+            long nanos = execution.phases.totalNanos(phase);
+            trackedNanos += nanos;
+            rows.append(' ').append(formatNanos(nanos)).append(" |");
+        }
+        long totalNanos = Math.max(0L, execution.elapsedMs) * 1_000_000L;
+        rows.append(' ').append(formatNanos(Math.max(0L, totalNanos - trackedNanos))).append(" |");
+        rows.append(' ').append(formatNanos(totalNanos)).append(" |\n");
+    }
+
+    private static void appendPhaseCsv(StringBuilder csv, String key, PhaseTimings.Recording phases) {
+        for (PhaseTimings.Span span : phases.spans()) {
+            csv.append(csvField(key))
+                .append(',')
+                .append(span.phase().name().toLowerCase(Locale.ROOT))
+                .append(',')
+                .append(csvField(span.detail()))
+                .append(',')
+                .append(span.startNanos() - phases.startedAtNanos())
+                .append(',')
+                .append(span.durationNanos())
+                .append('\n');
+        }
+    }
+
+    private static String formatNanos(long nanos) {
+        return formatMillis(nanos / 1_000_000.0);
+    }
+
+    private static String formatMillis(double millis) {
+        return String.format(Locale.ROOT, "%.1f ms", millis);
+    }
+
+    private static String csvField(String value) {
+        String text = value == null ? "" : value;
+        if (text.contains(",") || text.contains("\"") || text.contains("\n")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
 
-        StringBuilder md = new StringBuilder();
-        md.append("# Automated Test Results\n\n");
-        md.append("- Generated: ").append(generatedAt).append('\n');
-        md.append("- Runner: `com.selenium.tests.App`\n");
-        md.append("- Output files: `results.md`, `target/test-case-results.md`\n\n");
-        md.append("## Summary\n\n");
+    private static void appendHttpClientSection(
+        StringBuilder md,
+        ApiTestSupport.ConnectionStats stats,
+        ApiTestSupport.ConnectionStats loadStats
+    ) {
+        md.append("## HTTP Client\n\n");
         md.append("| Metric | Value |\n");
         md.append("|---|---:|\n");
-        md.append("| Total tests discovered | ").append(tests.size()).append(" |\n");
-        md.append("| Passed | ").append(passed).append(" |\n");
-        md.append("| Failed | ").append(failed).append(" |\n");
-        md.append("| Ignored | ").append(ignored).append(" |\n");
-        md.append("| Not run | ").append(notRun).append(" |\n");
-        md.append("| Total execution time | ").append(totalElapsedMs).append(" ms |\n\n");
-        md.append("## Detailed Results\n\n");
-        md.append(
-            "| Test Name | Technical ID | Area | Positive/Negative | Expected Behavior | Actual Behavior | Status | Duration |\n"
-        );
-        md.append("|---|---|---|---|---|---|---:|---:|\n");
-        md.append(detailsRows);
-
-        createParentDirectoryIfNeeded(REPORT_PATH);
-        createParentDirectoryIfNeeded(LEGACY_REPORT_PATH);
-        Files.writeString(REPORT_PATH, md.toString(), StandardCharsets.UTF_8);
-        Files.writeString(LEGACY_REPORT_PATH, md.toString(), StandardCharsets.UTF_8);
+        md.append("| Requests sent | ").append(stats.requests()).append(" |\n");
+        md.append("| HTTP/2 responses | ").append(stats.http2Responses()).append(" |\n");
+        md.append("| TLS connections opened | ").append(stats.tlsConnections()).append(" |\n");
+        md.append("| Requests on reused TLS connections | ").append(stats.reusedTlsRequests()).append(" |\n");
+        if (loadStats.requests() > 0L) {
+            md.append("| Load requests sent | ").append(loadStats.requests()).append(" |\n");
+            md.append("| Load TLS connections opened | ").append(loadStats.tlsConnections()).append(" |\n");
+            md.append("| Load requests on reused TLS connections | ").append(loadStats.reusedTlsRequests())
+                .append(" |\n");
+        }
+        if (HttpCassette.MODE != HttpCassette.Mode.OFF) {
+            HttpCassette.Stats cassette = HttpCassette.stats();
+            md.append("| Cassette mode | ").append(HttpCassette.MODE.name().toLowerCase(Locale.ROOT)).append(" |\n");
+            md.append("| Responses replayed | ").append(cassette.replayed()).append(" |\n");
+            md.append("| Responses recorded | ").append(cassette.recorded()).append(" |\n");
+            md.append("| Recordings revalidated (304) | ").append(cassette.revalidated()).append(" |\n");
+        }
+        md.append('\n');
     }
 
     private static void createParentDirectoryIfNeeded(Path path) throws IOException {
@@ -214,7 +587,7 @@ public class App {
         return "General";
     }
 
-    private static String humanizeIdentifier(String value) {
+    static String humanizeIdentifier(String value) {
         return value
             .replaceAll("([A-Z]+)([A-Z][a-z])", "$1 $2")
             .replaceAll("([a-z\\d])([A-Z])", "$1 $2")
@@ -222,150 +595,58 @@ public class App {
             .trim();
     }
 
-    private static void addSpec(
-        Map<String, TestCaseSpec> specs,
-        String key,
-        String displayName,
-        String area,
-        String type,
-        String expected,
-        String actualOnPass
-    ) {
-        specs.put(key, new TestCaseSpec(displayName, area, type, expected, actualOnPass));
-    }
-
-    private static List<TestCaseDefinition> discoverTestCases(Class<?>[] testClasses) {
+    private static List<TestCaseDefinition> discoverTestCases(TestCatalog catalog) {
         List<TestCaseDefinition> tests = new ArrayList<>();
-        for (Class<?> clazz : testClasses) {
-            for (Method method : clazz.getDeclaredMethods()) {
-                if (method.isAnnotationPresent(Test.class)) {
-                    tests.add(new TestCaseDefinition(clazz, method.getName()));
-                }
-            }
+        for (TestCatalog.Case testCase : catalog.cases()) {
+            tests.add(new TestCaseDefinition(testCase.testClass(), testCase.methodName()));
         }
-        tests.sort(Comparator.comparing(TestCaseDefinition::key));
         return tests;
     }
 
-    private static Map<String, TestCaseSpec> testSpecs() {
+    /** Report metadata from each test's {@link TestCase} annotation; tests without one get {@link #defaultSpec}. */
+    private static Map<String, TestCaseSpec> testSpecs(TestCatalog catalog) {
         Map<String, TestCaseSpec> specs = new LinkedHashMap<>();
-
-        addSpec(
-            specs,
-            "ApiBookByIsbnTest#shouldReturnSpecificBookByIsbn",
-            "API - Fetch Book By Fixed ISBN",
-            "API",
-            "Positive",
-            "Book endpoint should return 200 and either valid book data or an explicit no-data fallback.",
-            "Observed 200 response for specific ISBN request."
-        );
-        addSpec(
-            specs,
-            "ApiBooksListTest#shouldReturnBooksListFromApi",
-            "API - Fetch Books List",
-            "API",
-            "Positive",
-            "Books endpoint should return 200 and include books/ISBN data.",
-            "Observed 200 response with books and ISBN fields."
-        );
-        addSpec(
-            specs,
-            "ApiResolveIsbnAndFetchBookTest#shouldResolveIsbnFromListAndFetchBook",
-            "API - Resolve ISBN From List And Fetch Details",
-            "API",
-            "Positive",
-            "First ISBN from books list should resolve to a 200 response for book details.",
-            "Observed list fetch succeeded and resolved ISBN fetch returned 200."
-        );
-        addSpec(
-            specs,
-            "SecuritySearchBoxXssTest#shouldNotExecuteXssInSearchBox",
-            "Security - Reject XSS Payload In Search Box",
-            "Security",
-            "Negative",
-            "Injected script must not execute (no alert), and results should not expose matching book rows.",
-            "Observed no alert after XSS payload and no matching book rows displayed."
-        );
-        addSpec(
-            specs,
-            "SecuritySslCertificateTest#shouldHaveValidSslCertificate",
-            "Security - Validate SSL Certificate",
-            "Security",
-            "Positive",
-            "HTTPS endpoint should return 200 with at least one server certificate.",
-            "Observed HTTPS 200 response with non-empty server certificate chain."
-        );
-        addSpec(
-            specs,
-            "UiAddToCollectionAuthTest#shouldRequireLoginToAddToCollection",
-            "UI - Block Add To Collection When Logged Out",
-            "UI",
-            "Negative",
-            "Unauthenticated add-to-collection should be blocked (alert/redirect) or handled by no-data fallback.",
-            "Observed unauthorized flow was blocked as expected."
-        );
-        addSpec(
-            specs,
-            "UiBaseElementsTest#shouldDisplayBaseElementsOnHomePage",
-            "UI - Display Base Elements On Home Page",
-            "UI",
-            "Positive",
-            "Book store home page should show search box, login button, table, and Book Store content.",
-            "Observed core home page controls and Book Store content."
-        );
-        addSpec(
-            specs,
-            "UiBookSearchFilterTest#shouldFilterBooksBySearch",
-            "UI - Filter Book List By Search Term",
-            "UI",
-            "Positive",
-            "Searching for 'Git Pocket Guide' should leave exactly one row with that title.",
-            "Observed search reduced table to one row titled 'Git Pocket Guide'."
-        );
-        addSpec(
-            specs,
-            "UiBookTitleSortingTest#shouldSortBooksByTitle",
-            "UI - Sort Books By Title",
-            "UI",
-            "Positive",
-            "Title sort interaction should keep at least two valid book rows visible.",
-            "Observed title sort click succeeded and book rows remained visible."
-        );
-        addSpec(
-            specs,
-            "UiLoginNavigationTest#shouldNavigateToLoginForm",
-            "UI - Navigate To Login Form",
-            "UI",
-            "Positive",
-            "Login button should navigate to /login and show username/password fields.",
-            "Observed navigation to /login with username and password fields visible."
-        );
-        addSpec(
-            specs,
-            "UiOpenBookDetailsTest#shouldOpenBookDetailsFromList",
-            "UI - Open Book Details From List",
-            "UI",
-            "Positive",
-            "Opening a book should show details and return to store, or report a no-data fallback.",
-            "Observed book details flow completed or no-data fallback was triggered."
-        );
-        addSpec(
-            specs,
-            "UiSideMenuNavigationTest#shouldUseSideMenuToNavigateSections",
-            "UI - Navigate Sections From Side Menu",
-            "UI",
-            "Positive",
-            "Side menu should navigate to /profile and back to /books.",
-            "Observed side menu navigation to /profile then back to /books."
-        );
-
+        for (TestCatalog.Case testCase : catalog.cases()) {
+            TestCatalog.Metadata metadata = testCase.metadata();
+            if (metadata != null) {
+                specs.put(testCase.key(), new TestCaseSpec(
+                    metadata.name(),
+                    metadata.area(),
+                    metadata.type(),
+                    metadata.expected(),
+                    metadata.actualOnPass()
+                ));
+            }
+        }
         return specs;
     }
 
-    private static String escapeMd(String value) {
+    static String escapeMd(String value) {
         return value.replace("|", "\\|").replace("\n", " ");
     }
 
+    private record SuiteResult(int runCount, int ignoreCount, long runTime, List<Failure> failures) {
+        static SuiteResult of(List<Result> results, long runTime) {
+            int runCount = 0;
+            int ignoreCount = 0;
+            List<Failure> failures = new ArrayList<>();
+            for (Result result : results) {
+                runCount += result.getRunCount();
+                ignoreCount += result.getIgnoreCount();
+                failures.addAll(result.getFailures());
+            }
+            return new SuiteResult(runCount, ignoreCount, runTime, failures);
+        }
+
+        int failureCount() {
+            return failures.size();
+        }
+
+        boolean wasSuccessful() {
+            return failures.isEmpty();
+        }
+    }
+
     private record TestCaseDefinition(Class<?> clazz, String methodName) {
         String key() {
             return clazz.getSimpleName() + "#" + methodName;
@@ -398,45 +679,99 @@ public class App {
     private static final class TestExecution {
         private Status status;
         private String message;
-        private String output;
         private long elapsedMs;
+        private PhaseTimings.Recording phases;
+        private ResourceSampler.Usage resources;
+        private List<RetryPolicy.Retry> retries = List.of();
+        private long retryNanos;
+        private final Queue<String> output = new ConcurrentLinkedQueue<>();
+        private final AtomicLong outputChars = new AtomicLong();
 
-        private TestExecution(Status status, String message, String output, long elapsedMs) {
+        private TestExecution(Status status, String message, long elapsedMs) {
             this.status = status;
             this.message = message;
-            this.output = output;
             this.elapsedMs = elapsedMs;
         }
 
         static TestExecution passed() {
-            return new TestExecution(Status.PASSED, "", "", -1L);
+            return new TestExecution(Status.PASSED, "", -1L);
         }
 
         static TestExecution failed(String details) {
-            return new TestExecution(Status.FAILED, details == null ? "Failed." : details, "", -1L);
+            return new TestExecution(Status.FAILED, details == null ? "Failed." : details, -1L);
         }
 
         static TestExecution ignored() {
-            return new TestExecution(Status.IGNORED, "Ignored.", "", -1L);
+            return new TestExecution(Status.IGNORED, "Ignored.", -1L);
         }
 
         static TestExecution notRun() {
-            return new TestExecution(Status.NOT_RUN, "Not run.", "", -1L);
+            return new TestExecution(Status.NOT_RUN, "Not run.", -1L);
+        }
+
+        synchronized void markFinished(
+            long elapsedMs,
+            PhaseTimings.Recording phases,
+            ResourceSampler.Usage resources,
+            RetryPolicy.Log retryLog
+        ) {
+            if (status == Status.NOT_RUN) {
+                status = Status.PASSED;
+            }
+            if (elapsedMs >= 0L) {
+                this.elapsedMs = elapsedMs;
+            }
+            if (phases != null) {
+                this.phases = phases;
+            }
+            if (resources != null) {
+                this.resources = resources;
+            }
+            if (retryLog != null) {
+                retries = retryLog.retries();
+                retryNanos = retryLog.spentNanos();
+            }
+        }
+
+        /** Passed, but only after at least one retry. */
+        synchronized boolean isFlaky() {
+            return status == Status.PASSED && !retries.isEmpty();
+        }
+
+        synchronized void markFailed(String message) {
+            status = Status.FAILED;
+            this.message = message;
+        }
+
+        synchronized void markIgnored() {
+            status = Status.IGNORED;
+            message = "Ignored.";
         }
 
+        /**
+         * Lock-free so console capture never waits on the report or status updates. Lines past
+         * {@code report.maxOutputChars} are only counted, keeping a chatty test's cell bounded.
+         */
         void appendOutput(String line) {
-            if (line == null || line.isBlank()) {
+            String text = line == null ? "" : line.strip();
+            if (text.isEmpty()) {
                 return;
             }
-            if (output == null || output.isBlank()) {
-                output = line.strip();
-                return;
+            long used = outputChars.getAndAdd(text.length());
+            long room = MAX_OUTPUT_CHARS - used;
+            if (room > 0L) {
+                output.add(text.length() > room ? text.substring(0, (int) room) : text);
             }
-            output = output + " " + line.strip();
         }
 
-        String toHumanReadable(String actualOnPass) {
-            String outputText = output == null ? "" : output.strip();
+        String outputText() {
+            String outputText = String.join(" ", output);
+            long truncated = outputChars.get() - MAX_OUTPUT_CHARS;
+            return truncated > 0L ? outputText + " [" + truncated + " more chars truncated]" : outputText;
+        }
+
+        synchronized String toHumanReadable(String actualOnPass) {
+            String outputText = outputText();
             String timing = elapsedMs >= 0 ? " Runtime: " + elapsedMs + " ms." : "";
             return switch (status) {
                 case PASSED -> {
@@ -453,31 +788,143 @@ public class App {
         }
     }
 
-    private static final class TestRunRecorder extends RunListener {
-        private final Map<String, TestExecution> executions = new LinkedHashMap<>();
+    /**
+     * Runs one test class on the calling thread the way {@code JUnitCore} would, but with a notifier of its
+     * own so {@link FailFast} can stop it and so tests inside the class can follow the scheduler's order.
+     */
+    private static final class ClassRunner {
+        private final TestRunRecorder recorder;
+        private final FailFast failFast;
+        private final Comparator<String> testOrder;
+
+        private ClassRunner(TestRunRecorder recorder, FailFast failFast, Comparator<String> testOrder) {
+            this.recorder = recorder;
+            this.failFast = failFast;
+            this.testOrder = testOrder;
+        }
+
+        Result run(Class<?> testClass) {
+            Result result = new Result();
+            RunNotifier notifier = new RunNotifier();
+            notifier.addFirstListener(result.createListener());
+            notifier.addListener(recorder);
+            if (!failFast.register(notifier)) {
+                return result;
+            }
+            Request request = Request.aClass(testClass);
+            if (testOrder != null) {
+                request = request.sortWith(Comparator.comparing(TestRunRecorder::keyOf, testOrder));
+            }
+            try {
+                Runner runner = request.getRunner();
+                notifier.fireTestRunStarted(runner.getDescription());
+                runner.run(notifier);
+                notifier.fireTestRunFinished(result);
+            } catch (StoppedByUserException e) {
+                // Fail-fast stop: the rest of this class stays NOT RUN in the report.
+            } finally {
+                failFast.unregister(notifier);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * With {@code -DfailFast=true}, the first failure asks every running class to stop before its next test,
+     * and classes still queued are skipped. A test already in progress finishes normally.
+     */
+    private static final class FailFast extends RunListener {
+        private final boolean enabled;
+        private final Set<RunNotifier> running = ConcurrentHashMap.newKeySet();
+        private volatile boolean tripped;
+
+        private FailFast(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /** Returns {@code false} when the run has already been stopped and the class should be skipped. */
+        boolean register(RunNotifier notifier) {
+            if (!enabled) {
+                return true;
+            }
+            notifier.addListener(this);
+            running.add(notifier);
+            if (tripped) {
+                running.remove(notifier);
+                return false;
+            }
+            return true;
+        }
+
+        void unregister(RunNotifier notifier) {
+            running.remove(notifier);
+        }
+
+        boolean tripped() {
+            return tripped;
+        }
+
+        @Override
+        public void testFailure(Failure failure) {
+            tripped = true;
+            for (RunNotifier notifier : running) {
+                notifier.pleaseStop();
+            }
+        }
+    }
+
+    /**
+     * Shared by every worker in parallel mode: JUnit notifies it on the thread that runs the test, so all
+     * state is kept in concurrent maps and each {@link TestExecution} guards its own fields. An execution
+     * lives from its test's start to its completion; the {@link StreamingReport} keeps what outlasts it.
+     */
+    static final class TestRunRecorder extends RunListener {
+        private final Map<String, TestExecution> executions = new ConcurrentHashMap<>();
         private final Map<Long, String> runningByThread = new ConcurrentHashMap<>();
-        private final Map<String, Long> startedAtMillis = new ConcurrentHashMap<>();
+        private final Map<String, Long> startedAtNanos = new ConcurrentHashMap<>();
+        private final Map<String, ResourceSampler.Window> resourceWindows = new ConcurrentHashMap<>();
+        private final StreamingReport report;
+
+        TestRunRecorder() {
+            this(null);
+        }
+
+        /** {@code report} receives each test as it completes; {@code null} keeps results in memory only. */
+        TestRunRecorder(StreamingReport report) {
+            this.report = report;
+        }
 
         @Override
-        public void testStarted(org.junit.runner.Description description) {
+        public void testStarted(Description description) {
             String key = keyOf(description);
-            runningByThread.put(Thread.currentThread().getId(), key);
-            startedAtMillis.put(key, System.currentTimeMillis());
+            runningByThread.put(Thread.currentThread().threadId(), key);
+            startedAtNanos.put(key, System.nanoTime());
             executions.putIfAbsent(key, TestExecution.notRun());
+            PhaseTimings.begin();
+            RetryPolicy.begin();
+            ResourceSampler.Window window = ResourceSampler.open(
+                report == null ? "" : report.areaOf(key),
+                usesBrowser(description)
+            );
+            if (window != null) {
+                resourceWindows.put(key, window);
+            }
         }
 
         @Override
-        public void testFinished(org.junit.runner.Description description) {
+        public void testFinished(Description description) {
             String key = keyOf(description);
             TestExecution execution = executions.computeIfAbsent(key, k -> TestExecution.notRun());
-            if (execution.status == Status.NOT_RUN) {
-                execution.status = Status.PASSED;
-            }
-            Long started = startedAtMillis.remove(key);
-            if (started != null) {
-                execution.elapsedMs = Math.max(0L, System.currentTimeMillis() - started);
-            }
-            runningByThread.remove(Thread.currentThread().getId());
+            Long started = startedAtNanos.remove(key);
+            long elapsedMs = started == null ? -1L : Math.max(0L, (System.nanoTime() - started) / 1_000_000L);
+            execution.markFinished(
+                elapsedMs,
+                PhaseTimings.end(),
+                ResourceSampler.close(resourceWindows.remove(key)),
+                RetryPolicy.end()
+            );
+            runningByThread.remove(Thread.currentThread().threadId());
+            completed(key, description.getClassName(), execution);
         }
 
         @Override
@@ -487,21 +934,27 @@ public class App {
             if (message == null || message.isBlank()) {
                 message = failure.getException() == null ? "No failure message." : failure.getException().toString();
             }
-            TestExecution execution = executions.computeIfAbsent(key, k -> TestExecution.notRun());
-            execution.status = Status.FAILED;
-            execution.message = message;
+            executions.computeIfAbsent(key, k -> TestExecution.notRun()).markFailed(message);
         }
 
         @Override
-        public void testIgnored(org.junit.runner.Description description) {
+        public void testIgnored(Description description) {
             String key = keyOf(description);
             TestExecution execution = executions.computeIfAbsent(key, k -> TestExecution.notRun());
-            execution.status = Status.IGNORED;
-            execution.message = "Ignored.";
+            execution.markIgnored();
+            completed(key, description.getClassName(), execution);
+        }
+
+        /** Streams the finished test and forgets it, so the recorder only holds the tests still running. */
+        private void completed(String key, String className, TestExecution execution) {
+            if (report != null) {
+                report.testCompleted(key, className, execution);
+            }
+            executions.remove(key);
         }
 
         void appendConsole(String line) {
-            String key = runningByThread.get(Thread.currentThread().getId());
+            String key = runningByThread.get(Thread.currentThread().threadId());
             if (key == null) {
                 return;
             }
@@ -509,7 +962,13 @@ public class App {
             execution.appendOutput(line);
         }
 
-        private String keyOf(org.junit.runner.Description description) {
+        /** Whether the test drives a browser; an unknown class is assumed to, so it is not undercharged. */
+        private static boolean usesBrowser(Description description) {
+            Class<?> testClass = description.getTestClass();
+            return testClass == null || UiDriverTestBase.class.isAssignableFrom(testClass);
+        }
+
+        static String keyOf(Description description) {
             String className = description.getClassName();
             String methodName = description.getMethodName();
 
@@ -522,43 +981,437 @@ public class App {
         }
     }
 
-    private static final class TeeOutputStream extends OutputStream {
+    /**
+     * Writes {@code results.md} while the suite runs. The header and every Detailed Results row are flushed
+     * as soon as a test completes, so an interrupted run still leaves each finished row on disk. The Summary
+     * is only known at the end, so the header reserves a fixed-width block for it that {@link #finish} fills
+     * in place, the way {@link ResultFeed} fills in the JUnit suite totals. Per-test rows
+     * of the later sections (phases, retries, history, resources) go to {@link ReportPart} side files that are
+     * spliced in after the details, and the aggregate sections keep running totals, so memory does not grow
+     * with the suite: only the keys of completed tests are kept, to add NOT RUN rows at the end. Each row is
+     * mirrored to the {@link ResultFeed} NDJSON and JUnit-XML files, and each sample to the run history log,
+     * at the same moment.
+     */
+    private static final class StreamingReport {
+        private static final int SUMMARY_WIDTH = 1024;
+
+        private final Map<String, TestCaseDefinition> tests = new LinkedHashMap<>();
+        private final Map<String, TestCaseSpec> specs;
+        private final Set<String> written = new HashSet<>();
+        private final RunHistory earlierRuns;
+        private final RunHistory.Appender historyLog;
+        private final FileChannel markdownChannel;
+        private final Writer markdown;
+        private final BufferedWriter phaseCsv;
+        private final ReportPart phaseRows;
+        private final ReportPart retryTestRows;
+        private final ReportPart retryRows;
+        private final ReportPart historyRows;
+        private final ReportPart resourceRows;
+        private final ResultFeed feed;
+        private int passed;
+        private int failed;
+        private int ignored;
+        private int flaky;
+        private int regressions;
+        private boolean historyWritten;
+        private long totalElapsedMs;
+        private long totalRetryNanos;
+        private long summaryOffset;
+        private IOException failure;
+
+        private StreamingReport(List<TestCaseDefinition> tests, Map<String, TestCaseSpec> specs) throws IOException {
+            for (TestCaseDefinition test : tests) {
+                this.tests.put(test.key(), test);
+            }
+            this.specs = specs;
+            String profile = UiProfile.ACTIVE.id();
+            // This run is the newest of the window, so the baseline holds one run fewer.
+            earlierRuns = RunHistory.load(HISTORY_PATH, Math.max(1, HISTORY_RUNS - 1), profile);
+            createParentDirectoryIfNeeded(REPORT_PATH);
+            createParentDirectoryIfNeeded(PHASE_TIMINGS_PATH);
+            markdownChannel = FileChannel.open(
+                REPORT_PATH,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING
+            );
+            markdown = Channels.newWriter(markdownChannel, StandardCharsets.UTF_8);
+            phaseCsv = Files.newBufferedWriter(PHASE_TIMINGS_PATH, StandardCharsets.UTF_8);
+            phaseRows = new ReportPart("phase-breakdown");
+            retryTestRows = new ReportPart("retry-tests");
+            retryRows = new ReportPart("retries");
+            historyRows = new ReportPart("performance-history");
+            resourceRows = new ReportPart("resource-usage");
+            feed = ResultFeed.open();
+            historyLog = RunHistory.openAppender(HISTORY_PATH, System.currentTimeMillis(), profile);
+        }
+
+        static StreamingReport open(List<TestCaseDefinition> tests, Map<String, TestCaseSpec> specs)
+            throws IOException {
+            StreamingReport report = new StreamingReport(tests, specs);
+            String generatedAt = ZonedDateTime
+                .now(ZoneOffset.UTC)
+                .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss 'UTC'"));
+            report.markdown.write("# Automated Test Results\n\n");
+            report.markdown.write("- Generated: " + generatedAt + "\n");
+            report.markdown.write("- Runner: `com.selenium.tests.App`\n");
+            report.markdown.write("- UI profile: `" + UiProfile.ACTIVE.id() + "`\n");
+            report.markdown.write(
+                "- Output files: `results.md`, `target/test-case-results.md`, `target/phase-timings.csv`, "
+                    + "`target/test-results.ndjson`, `target/TEST-com.selenium.tests.App.xml`\n"
+            );
+            report.markdown.write(
+                "- Detailed Results rows are in completion order, so parallel runs interleave classes; tests that "
+                    + "never ran are listed last as NOT RUN.\n\n"
+            );
+            report.markdown.flush();
+            report.summaryOffset = report.markdownChannel.position();
+            report.markdown.write(padSummary("## Summary\n\nThe suite is still running.\n"));
+            report.markdown.write("\n## Detailed Results\n\n");
+            report.markdown.write("| Test Name | Technical ID | Area | Positive/Negative | Expected Behavior");
+            report.markdown.write(" | Actual Behavior | Status | Duration |\n");
+            report.markdown.write("|---|---|---|---|---|---|---:|---:|\n");
+            report.markdown.flush();
+            report.phaseCsv.write("test,phase,detail,start_offset_ns,duration_ns\n");
+            return report;
+        }
+
+        /**
+         * Called on the worker thread that ran the test, which drops the execution once this returns. The first
+         * write error stops streaming until finish.
+         */
+        synchronized void testCompleted(String key, String className, TestExecution execution) {
+            if (failure != null || !written.add(key)) {
+                return;
+            }
+            switch (execution.status) {
+                case PASSED -> passed++;
+                case FAILED -> failed++;
+                case IGNORED -> ignored++;
+                case NOT_RUN -> {
+                }
+            }
+            if (execution.elapsedMs >= 0L) {
+                totalElapsedMs += execution.elapsedMs;
+            }
+            if (execution.isFlaky()) {
+                flaky++;
+            }
+            totalRetryNanos += execution.retryNanos;
+
+            StringBuilder row = new StringBuilder();
+            appendDetailsRow(row, key, specFor(key), execution);
+            try {
+                markdown.write(row.toString());
+                markdown.flush();
+                if (execution.phases != null) {
+                    StringBuilder phases = new StringBuilder();
+                    appendPhaseRow(phases, key, execution);
+                    phaseRows.write(phases);
+                    StringBuilder csv = new StringBuilder();
+                    appendPhaseCsv(csv, key, execution.phases);
+                    phaseCsv.write(csv.toString());
+                    phaseCsv.flush();
+                }
+                if (!execution.retries.isEmpty()) {
+                    StringBuilder testRow = new StringBuilder();
+                    StringBuilder rows = new StringBuilder();
+                    appendRetryRows(testRow, rows, key, execution);
+                    retryTestRows.write(testRow);
+                    retryRows.write(rows);
+                }
+                if (execution.elapsedMs >= 0L
+                    && (execution.status == Status.PASSED || execution.status == Status.FAILED)) {
+                    RunHistory.RunSample sample =
+                        new RunHistory.RunSample(statusLabel(execution.status), execution.elapsedMs);
+                    historyLog.append(key, sample);
+                    historyWritten = true;
+                    StringBuilder historyRow = new StringBuilder();
+                    if ("REGRESSION".equals(appendHistoryRow(historyRow, key, sample, earlierRuns))) {
+                        regressions++;
+                    }
+                    historyRows.write(historyRow);
+                }
+                if (execution.resources != null) {
+                    String area = specFor(key).area;
+                    StringBuilder resourceRow = new StringBuilder();
+                    appendResourceRow(resourceRow, key, area, execution.resources);
+                    resourceRows.write(resourceRow);
+                }
+                feed.append(feedEntry(key, className, execution));
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+
+        /** Adds rows for tests that never ran, then the summary and aggregate sections, and closes the files. */
+        synchronized void finish(
+            List<LoadGenerator.EndpointResult> loadResults,
+            ResourceSampler.Summary resourceUsage
+        ) throws IOException {
+            try {
+                if (failure != null) {
+                    throw failure;
+                }
+                int notRun = 0;
+                for (Map.Entry<String, TestCaseDefinition> test : tests.entrySet()) {
+                    if (written.add(test.getKey())) {
+                        TestExecution execution = TestExecution.notRun();
+                        StringBuilder row = new StringBuilder();
+                        appendDetailsRow(row, test.getKey(), specFor(test.getKey()), execution);
+                        markdown.write(row.toString());
+                        feed.append(feedEntry(test.getKey(), test.getValue().clazz().getName(), execution));
+                        notRun++;
+                    }
+                }
+
+                StringBuilder summary = new StringBuilder();
+                summary.append("## Summary\n\n");
+                summary.append("| Metric | Value |\n");
+                summary.append("|---|---:|\n");
+                summary.append("| Total tests discovered | ").append(tests.size()).append(" |\n");
+                summary.append("| Passed | ").append(passed).append(" |\n");
+                summary.append("| Flaky (passed after retrying) | ").append(flaky).append(" |\n");
+                summary.append("| Failed | ").append(failed).append(" |\n");
+                summary.append("| Ignored | ").append(ignored).append(" |\n");
+                summary.append("| Not run | ").append(notRun).append(" |\n");
+                summary.append("| Total execution time | ").append(totalElapsedMs).append(" ms |\n");
+                summary.append("| Time spent on retries | ").append(totalRetryNanos / 1_000_000L).append(" ms |\n");
+
+                StringBuilder md = new StringBuilder("\n");
+                appendHttpClientSection(md, ApiTestSupport.connectionStats(), ApiTestSupport.loadConnectionStats());
+                md.append("## Phase Breakdown\n\n");
+                md.append("| Technical ID |");
+                for (PhaseTimings.Phase phase : PhaseTimings.Phase.values()) {
+                    md.append(' ').append(phase.label).append(" |");
+                }
+                md.append(" Other | Total |\n");
+                md.append("|---|").append("---:|".repeat(PhaseTimings.Phase.values().length + 2)).append('\n');
+                markdown.write(md.toString());
+                phaseRows.transferTo(markdown);
+
+                if (!retryTestRows.isEmpty()) {
+                    // Retry cost per test, then every retry in completion order, so a flaky test shows what
+                    // failed and what it cost: the time its failed attempt ran plus the backoff after it.
+                    markdown.write("\n## Retries\n\n");
+                    markdown.write("Tests marked PASS here are flaky: they passed only after retrying.\n\n");
+                    markdown.write("| Technical ID | Test status | Retries | Retry time |\n");
+                    markdown.write("|---|---|---:|---:|\n");
+                    retryTestRows.transferTo(markdown);
+                    markdown.write("\n| Technical ID | Test status | Operation | Attempt | Rule | Error"
+                        + " | Failed after | Backoff |\n");
+                    markdown.write("|---|---|---|---:|---|---|---:|---:|\n");
+                    retryRows.transferTo(markdown);
+                }
+
+                md.setLength(0);
+                appendHistoryHeader(md, earlierRuns.runCount() + (historyWritten ? 1 : 0), regressions);
+                markdown.write(md.toString());
+                historyRows.transferTo(markdown);
+
+                md.setLength(0);
+                appendUiLatencySection(md, UiLatencyMetrics.snapshot());
+                if (!resourceRows.isEmpty() || !resourceUsage.processes().isEmpty()) {
+                    appendResourceHeader(md);
+                    markdown.write(md.toString());
+                    resourceRows.transferTo(markdown);
+                    md.setLength(0);
+                    appendResourceTotals(md, resourceUsage);
+                }
+                appendLoadSection(md, loadResults);
+                markdown.write(md.toString());
+
+                String block = padSummary(summary.toString());
+                if (block != null) {
+                    markdown.flush();
+                    markdownChannel.write(ByteBuffer.wrap(block.getBytes(StandardCharsets.UTF_8)), summaryOffset);
+                } else {
+                    markdown.write("\n" + summary);
+                }
+            } finally {
+                markdown.close();
+                phaseCsv.close();
+                feed.close();
+                historyLog.close();
+                for (ReportPart part : List.of(phaseRows, retryTestRows, retryRows, historyRows, resourceRows)) {
+                    part.close();
+                }
+            }
+        }
+
+        /** Pads {@code text} to the reserved Summary width, or returns {@code null} if it does not fit. */
+        private static String padSummary(String text) {
+            int length = text.getBytes(StandardCharsets.UTF_8).length;
+            return length <= SUMMARY_WIDTH ? text + " ".repeat(SUMMARY_WIDTH - length) : null;
+        }
+
+        private static ResultFeed.Entry feedEntry(String key, String className, TestExecution execution) {
+            Map<String, Long> phaseNanos = new LinkedHashMap<>();
+            if (execution.phases != null) {
+                long trackedNanos = 0L;
+                for (PhaseTimings.Phase phase : PhaseTimings.Phase.values()) {
+                    long nanos = execution.phases.totalNanos(phase);
+                    trackedNanos += nanos;
+                    phaseNanos.put(phase.name().toLowerCase(Locale.ROOT), nanos);
+                }
+                long totalNanos = Math.max(0L, execution.elapsedMs) * 1_000_000L;
+                phaseNanos.put("other", Math.max(0L, totalNanos - trackedNanos));
+            }
+            return new ResultFeed.Entry(
+                key,
+                className == null ? "UnknownClass" : className,
+                key.substring(key.indexOf('#') + 1),
+                statusLabel(execution.status),
+                execution.elapsedMs,
+                phaseNanos,
+                execution.status == Status.FAILED ? execution.message : null,
+                execution.outputText(),
+                execution.retries.size(),
+                execution.retryNanos,
+                execution.isFlaky()
+            );
+        }
+
+        String areaOf(String key) {
+            return specFor(key).area;
+        }
+
+        private TestCaseSpec specFor(String key) {
+            TestCaseSpec spec = specs.get(key);
+            if (spec != null) {
+                return spec;
+            }
+            TestCaseDefinition test = tests.get(key);
+            return test != null ? defaultSpec(test) : new TestCaseSpec(
+                key,
+                "General",
+                "Unspecified",
+                "Test should complete without assertion or runtime errors.",
+                "Observed run completed without assertion/runtime errors."
+            );
+        }
+    }
+
+    /** Table rows streamed to a side file next to the phase CSV and spliced into {@code results.md} at the end. */
+    private static final class ReportPart implements AutoCloseable {
+        private final Path path;
+        private final BufferedWriter writer;
+        private boolean empty = true;
+
+        private ReportPart(String name) throws IOException {
+            path = PHASE_TIMINGS_PATH.resolveSibling(name + ".md.part");
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        }
+
+        void write(CharSequence rows) throws IOException {
+            writer.append(rows);
+            empty = false;
+        }
+
+        boolean isEmpty() {
+            return empty;
+        }
+
+        void transferTo(Writer target) throws IOException {
+            writer.close();
+            try (BufferedReader rows = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                rows.transferTo(target);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Copies console bytes to the real stdout and hands each completed line to the recorder. Bytes are decoded
+     * as UTF-8 per writing thread, so multi-byte characters split across writes survive and no lock is held
+     * beyond the one {@link PrintStream} already takes.
+     */
+    static final class TeeOutputStream extends OutputStream {
         private final PrintStream original;
-        private final TestRunRecorder recorder;
-        private final StringBuilder buffer = new StringBuilder();
+        private final Consumer<String> sink;
+        private final ThreadLocal<LineDecoder> lines = ThreadLocal.withInitial(LineDecoder::new);
 
-        private TeeOutputStream(PrintStream original, TestRunRecorder recorder) {
+        TeeOutputStream(PrintStream original, TestRunRecorder recorder) {
             this.original = original;
-            this.recorder = recorder;
+            this.sink = recorder::appendConsole;
         }
 
         @Override
-        public synchronized void write(int b) throws IOException {
-            original.write(b);
-            char c = (char) b;
-            buffer.append(c);
-            if (c == '\n') {
-                flushBufferToRecorder();
-            }
+        public void write(int b) {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            original.write(bytes, offset, length);
+            lines.get().decode(bytes, offset, length, sink);
         }
 
         @Override
-        public synchronized void flush() throws IOException {
-            flushBufferToRecorder();
+        public void flush() {
+            lines.get().flushLine(sink);
             original.flush();
         }
 
         @Override
-        public synchronized void close() throws IOException {
+        public void close() {
             flush();
         }
+    }
 
-        private void flushBufferToRecorder() {
-            if (buffer.length() == 0) {
-                return;
+    /** Per-thread UTF-8 decoder that carries incomplete byte sequences and partial lines between writes. */
+    private static final class LineDecoder {
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final ByteBuffer carry = ByteBuffer.allocate(8);
+        private final CharBuffer chars = CharBuffer.allocate(1024);
+        private final StringBuilder line = new StringBuilder();
+
+        void decode(byte[] bytes, int offset, int length, Consumer<String> sink) {
+            ByteBuffer in = ByteBuffer.wrap(bytes, offset, length);
+            while (carry.position() > 0 && in.hasRemaining()) {
+                carry.put(in.get()).flip();
+                decodeAvailable(carry, sink);
+                carry.compact();
+            }
+            decodeAvailable(in, sink);
+            carry.put(in);
+        }
+
+        void flushLine(Consumer<String> sink) {
+            if (line.length() > 0) {
+                sink.accept(line.toString());
+                line.setLength(0);
+            }
+        }
+
+        private void decodeAvailable(ByteBuffer in, Consumer<String> sink) {
+            CoderResult result;
+            do {
+                result = decoder.decode(in, chars, false);
+                chars.flip();
+                splitLines(sink);
+                chars.clear();
+            } while (result.isOverflow());
+        }
+
+        private void splitLines(Consumer<String> sink) {
+            int start = chars.position();
+            for (int i = start; i < chars.limit(); i++) {
+                if (chars.get(i) == '\n') {
+                    line.append(chars, start - chars.position(), i - chars.position());
+                    flushLine(sink);
+                    start = i + 1;
+                }
             }
-            recorder.appendConsole(buffer.toString());
-            buffer.setLength(0);
+            line.append(chars, start - chars.position(), chars.limit() - chars.position());
         }
     }
 }
@@ -0,0 +1,129 @@
+package com.selenium.tests;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.Map;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Logs in once through the BookStore Account API ({@code GenerateToken} then {@code Login}), caches the
+ * session until shortly before its token expires, and seeds it into a browser as the cookies and
+ * localStorage entries the site reads, so authenticated UI tests skip the login form.
+ *
+ * <p>Credentials come from {@code -Dbookstore.user} / {@code -Dbookstore.password}; against
+ * {@link LocalBookStore} its built-in account is used when none are given.
+ */
+final class AuthSession {
+    private static final String ACCOUNT_BASE = TestSite.BASE_URL + "/Account/v1";
+    private static final Duration EXPIRY_MARGIN = Duration.ofMinutes(1);
+
+    private static Session cached;
+
+    private AuthSession() {
+    }
+
+    static boolean hasCredentials() {
+        return userName() != null && password() != null;
+    }
+
+    /** Returns the cached session, logging in again through the API once it is about to expire. */
+    static synchronized Session current() {
+        if (cached == null || Instant.now().isAfter(cached.expires().minus(EXPIRY_MARGIN))) {
+            try {
+                cached = login(userName(), password());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not log in through the Account API", e);
+            }
+        }
+        return cached;
+    }
+
+    /** Opens a page on the site origin and installs {@code session} as the logged-in user. */
+    static void seed(WebDriver driver, Session session) {
+        try (PhaseTimings.Scope ignored = PhaseTimings.start(PhaseTimings.Phase.NAVIGATION, "seed session")) {
+            driver.get(TestSite.BASE_URL + "/favicon.ico");
+        }
+        Date expiry = Date.from(session.expires());
+        Map<String, String> values = session.browserValues();
+        for (Map.Entry<String, String> value : values.entrySet()) {
+            driver.manage().addCookie(new Cookie(value.getKey(), value.getValue(), "/", expiry));
+        }
+        ((JavascriptExecutor) driver).executeScript(
+            "const values = arguments[0];"
+                + "Object.keys(values).forEach(key => window.localStorage.setItem(key, values[key]));",
+            values
+        );
+    }
+
+    private static Session login(String userName, String password) throws IOException {
+        String credentials = "{\"userName\":" + Json.quote(userName)
+            + ",\"password\":" + Json.quote(password) + "}";
+
+        ApiTestSupport.ParsedResponse<Map<String, String>> token = ApiTestSupport.httpPostJson(
+            ACCOUNT_BASE + "/GenerateToken",
+            credentials,
+            null,
+            BookJsonReader::readScalarFields
+        );
+        if (token.value == null || token.value.get("token") == null) {
+            throw new IOException("GenerateToken rejected user '" + userName + "' (HTTP " + token.statusCode + ")");
+        }
+
+        ApiTestSupport.ParsedResponse<Map<String, String>> user = ApiTestSupport.httpPostJson(
+            ACCOUNT_BASE + "/Login",
+            credentials,
+            null,
+            BookJsonReader::readScalarFields
+        );
+        if (user.value == null || user.value.get("userId") == null) {
+            throw new IOException("Login rejected user '" + userName + "' (HTTP " + user.statusCode + ")");
+        }
+
+        return new Session(
+            user.value.get("userId"),
+            userName,
+            firstNonNull(user.value.get("token"), token.value.get("token")),
+            parseExpiry(firstNonNull(user.value.get("expires"), token.value.get("expires")))
+        );
+    }
+
+    private static String firstNonNull(String preferred, String fallback) {
+        return preferred != null ? preferred : fallback;
+    }
+
+    private static Instant parseExpiry(String expires) {
+        try {
+            return expires == null ? Instant.now().plus(Duration.ofMinutes(5)) : Instant.parse(expires);
+        } catch (DateTimeParseException e) {
+            return Instant.now().plus(Duration.ofMinutes(5));
+        }
+    }
+
+    private static String userName() {
+        String configured = System.getProperty("bookstore.user");
+        return configured != null || !TestSite.isLocal() ? configured : LocalBookStore.USER_NAME;
+    }
+
+    private static String password() {
+        String configured = System.getProperty("bookstore.password");
+        return configured != null || !TestSite.isLocal() ? configured : LocalBookStore.PASSWORD;
+    }
+
+    record Session(String userId, String userName, String token, Instant expires) {
+        /** Name/value pairs the site keeps in both cookies and localStorage for a logged-in user. */
+        Map<String, String> browserValues() {
+            return Map.of(
+                "userID", userId,
+                "userName", userName,
+                "token", token,
+                "expires", expires.toString()
+            );
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.selenium.tests;
+
+/**
+ * One entry of the BookStore catalogue, as returned by {@code /Books} and {@code /Book?ISBN=}. {@code pages} is
+ * 0 when the API sends it as {@code null} or leaves it out.
+ */
+record Book(
+    String isbn,
+    String title,
+    String subTitle,
+    String author,
+    String publishDate,
+    String publisher,
+    int pages,
+    String description,
+    String website
+) {
+}
@@ -0,0 +1,362 @@
+package com.selenium.tests;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Pull parser for BookStore payloads that reads straight from the response stream. Only the book being
+ * decoded is held in memory, and callers that need a single value can stop as soon as they have it. The
+ * field readers also serve other small documents, such as the DevTools replies in {@link SharedBrowser}.
+ */
+final class BookJsonReader implements Closeable {
+    private static final int END = -1;
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private int peeked = NONE;
+    private long offset;
+
+    BookJsonReader(InputStream stream) {
+        this.reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+    }
+
+    /** Reads every book of a {@code {"books": [...]}} document. */
+    static List<Book> readBooks(InputStream stream) throws IOException {
+        List<Book> books = new ArrayList<>();
+        try (BookJsonReader json = new BookJsonReader(stream)) {
+            json.forEachBook(book -> {
+                books.add(book);
+                return true;
+            });
+        }
+        return books;
+    }
+
+    /**
+     * Returns the ISBN of the first listed book, or {@code null} when the list is empty. Parsing stops at the
+     * first book, but the rest of the body is still read and discarded: closing a response stream early makes
+     * the client drop an HTTP/1.1 connection instead of returning it to the pool.
+     */
+    static String firstIsbn(InputStream stream) throws IOException {
+        String[] isbn = new String[1];
+        try (BookJsonReader json = new BookJsonReader(stream)) {
+            json.forEachBook(book -> {
+                isbn[0] = book.isbn();
+                return false;
+            });
+            stream.transferTo(OutputStream.nullOutputStream());
+        }
+        return isbn[0];
+    }
+
+    /** Reads a single book object, or returns {@code null} for an empty body. */
+    static Book readBook(InputStream stream) throws IOException {
+        try (BookJsonReader json = new BookJsonReader(stream)) {
+            return json.peek() == END ? null : json.readBookObject();
+        }
+    }
+
+    /**
+     * Reads the scalar members of a flat object (e.g. Account API responses) as strings; nested objects
+     * and arrays are skipped and JSON {@code null} maps to {@code null}. Returns an empty map for an empty body.
+     */
+    static Map<String, String> readScalarFields(InputStream stream) throws IOException {
+        return readFields(stream, 0);
+    }
+
+    /**
+     * Like {@link #readScalarFields}, but also reads the scalar members of objects one level down, keyed as
+     * {@code outer.inner}: a DevTools reply gives {@code id}, {@code result.targetId} or {@code error.message}.
+     * Only top-level members match a top-level key, so a nested {@code id} or {@code error} is never mistaken
+     * for the reply's own.
+     */
+    static Map<String, String> readNestedFields(InputStream stream) throws IOException {
+        return readFields(stream, 1);
+    }
+
+    private static Map<String, String> readFields(InputStream stream, int depth) throws IOException {
+        Map<String, String> fields = new LinkedHashMap<>();
+        try (BookJsonReader json = new BookJsonReader(stream)) {
+            if (json.peek() != END) {
+                json.readObjectFields("", depth, fields);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Streams the {@code books} array to {@code visitor} until it returns {@code false}; other top-level
+     * members are skipped.
+     */
+    void forEachBook(Predicate<Book> visitor) throws IOException {
+        expect('{');
+        if (consumeIf('}')) {
+            return;
+        }
+        do {
+            String name = readString();
+            expect(':');
+            if ("books".equals(name)) {
+                if (!visitBooks(visitor)) {
+                    return;
+                }
+            } else {
+                skipValue();
+            }
+        } while (consumeIf(','));
+        expect('}');
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /** Puts the scalar members of the next object into {@code fields}, descending {@code depth} objects deep. */
+    private void readObjectFields(String prefix, int depth, Map<String, String> fields) throws IOException {
+        expect('{');
+        if (consumeIf('}')) {
+            return;
+        }
+        do {
+            String name = prefix + readString();
+            expect(':');
+            switch (peek()) {
+                case '"' -> fields.put(name, readString());
+                case '{' -> {
+                    if (depth > 0) {
+                        readObjectFields(name + ".", depth - 1, fields);
+                    } else {
+                        skipValue();
+                    }
+                }
+                case '[' -> skipValue();
+                default -> {
+                    String literal = readLiteral();
+                    fields.put(name, "null".equals(literal) ? null : literal);
+                }
+            }
+        } while (consumeIf(','));
+        expect('}');
+    }
+
+    private boolean visitBooks(Predicate<Book> visitor) throws IOException {
+        expect('[');
+        if (consumeIf(']')) {
+            return true;
+        }
+        do {
+            if (!visitor.test(readBookObject())) {
+                return false;
+            }
+        } while (consumeIf(','));
+        expect(']');
+        return true;
+    }
+
+    private Book readBookObject() throws IOException {
+        String isbn = null;
+        String title = null;
+        String subTitle = null;
+        String author = null;
+        String publishDate = null;
+        String publisher = null;
+        int pages = 0;
+        String description = null;
+        String website = null;
+
+        expect('{');
+        if (!consumeIf('}')) {
+            do {
+                String name = readString();
+                expect(':');
+                switch (name) {
+                    case "isbn" -> isbn = readNullableString();
+                    case "title" -> title = readNullableString();
+                    case "subTitle" -> subTitle = readNullableString();
+                    case "author" -> author = readNullableString();
+                    case "publish_date" -> publishDate = readNullableString();
+                    case "publisher" -> publisher = readNullableString();
+                    case "pages" -> pages = readNullableInt();
+                    case "description" -> description = readNullableString();
+                    case "website" -> website = readNullableString();
+                    default -> skipValue();
+                }
+            } while (consumeIf(','));
+            expect('}');
+        }
+        return new Book(isbn, title, subTitle, author, publishDate, publisher, pages, description, website);
+    }
+
+    private String readNullableString() throws IOException {
+        if (peek() == 'n') {
+            readLiteral();
+            return null;
+        }
+        return readString();
+    }
+
+    /** JSON {@code null} reads as 0, like a missing member. */
+    private int readNullableInt() throws IOException {
+        if (peek() == 'n') {
+            readLiteral();
+            return 0;
+        }
+        return (int) readNumber();
+    }
+
+    private String readString() throws IOException {
+        expect('"');
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            int c = next();
+            switch (c) {
+                case END -> throw malformed("unterminated string");
+                case '"' -> {
+                    return value.toString();
+                }
+                case '\\' -> value.append(readEscape());
+                default -> value.append((char) c);
+            }
+        }
+    }
+
+    private char readEscape() throws IOException {
+        int c = next();
+        return switch (c) {
+            case '"', '\\', '/' -> (char) c;
+            case 'b' -> '\b';
+            case 'f' -> '\f';
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
+            case 'u' -> {
+                int code = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(next(), 16);
+                    if (digit < 0) {
+                        throw malformed("bad unicode escape");
+                    }
+                    code = code * 16 + digit;
+                }
+                yield (char) code;
+            }
+            default -> throw malformed("bad escape");
+        };
+    }
+
+    private double readNumber() throws IOException {
+        String literal = readLiteral();
+        try {
+            return Double.parseDouble(literal);
+        } catch (NumberFormatException e) {
+            throw malformed("expected number but found '" + literal + "'");
+        }
+    }
+
+    /** Reads a bare token (number, true, false, null) up to the next structural character. */
+    private String readLiteral() throws IOException {
+        skipWhitespace();
+        StringBuilder literal = new StringBuilder();
+        while (true) {
+            int c = peekRaw();
+            if (c == END || c == ',' || c == '}' || c == ']' || Character.isWhitespace(c)) {
+                break;
+            }
+            literal.append((char) next());
+        }
+        if (literal.length() == 0) {
+            throw malformed("expected a value");
+        }
+        return literal.toString();
+    }
+
+    private void skipValue() throws IOException {
+        switch (peek()) {
+            case '"' -> readString();
+            case '{' -> {
+                expect('{');
+                if (!consumeIf('}')) {
+                    do {
+                        readString();
+                        expect(':');
+                        skipValue();
+                    } while (consumeIf(','));
+                    expect('}');
+                }
+            }
+            case '[' -> {
+                expect('[');
+                if (!consumeIf(']')) {
+                    do {
+                        skipValue();
+                    } while (consumeIf(','));
+                    expect(']');
+                }
+            }
+            default -> readLiteral();
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        skipWhitespace();
+        int c = next();
+        if (c != expected) {
+            throw malformed("expected '" + expected + "' but found " + describe(c));
+        }
+    }
+
+    private boolean consumeIf(char expected) throws IOException {
+        if (peek() == expected) {
+            next();
+            return true;
+        }
+        return false;
+    }
+
+    private int peek() throws IOException {
+        skipWhitespace();
+        return peekRaw();
+    }
+
+    private void skipWhitespace() throws IOException {
+        while (Character.isWhitespace(peekRaw())) {
+            next();
+        }
+    }
+
+    private int peekRaw() throws IOException {
+        if (peeked == NONE) {
+            peeked = reader.read();
+        }
+        return peeked;
+    }
+
+    private int next() throws IOException {
+        int c = peekRaw();
+        peeked = NONE;
+        if (c != END) {
+            offset++;
+        }
+        return c;
+    }
+
+    private IOException malformed(String problem) {
+        return new IOException("Malformed JSON at offset " + offset + ": " + problem);
+    }
+
+    private static String describe(int c) {
+        return c == END ? "end of input" : "'" + (char) c + "'";
+    }
+}
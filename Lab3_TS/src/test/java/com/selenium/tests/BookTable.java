@@ -0,0 +1,84 @@
+package com.selenium.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Reads the whole React book table in a single {@code executeScript} round-trip, whatever the row count.
+ * Padding rows (no title link) are skipped, so the result holds only real books in display order.
+ */
+final class BookTable {
+    private static final String SNAPSHOT_SCRIPT =
+        "const text = cell => cell ? cell.textContent.trim() : '';"
+            + "const rows = [];"
+            + "document.querySelectorAll('.rt-tbody .rt-tr-group').forEach(group => {"
+            + "  const link = group.querySelector('a');"
+            + "  if (!link) { return; }"
+            + "  const cells = group.querySelectorAll('.rt-td');"
+            + "  rows.push([link.textContent.trim(), text(cells[2]), text(cells[3]), link.href]);"
+            + "});"
+            + "return rows;";
+
+    /** Clicks a column header and reports the milliseconds until the first frame after the re-render. */
+    private static final String CLICK_HEADER_SCRIPT =
+        "const label = arguments[0];"
+            + "const done = arguments[arguments.length - 1];"
+            + "const header = Array.from(document.querySelectorAll('.rt-th'))"
+            + "  .find(th => th.textContent.trim() === label);"
+            + "if (!header) { done(-1); return; }"
+            + "const start = performance.now();"
+            + "header.click();"
+            + "requestAnimationFrame(() => setTimeout(() => done(performance.now() - start), 0));";
+
+    private BookTable() {
+    }
+
+    static List<Row> snapshot(WebDriver driver) {
+        Object result = ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT);
+        List<Row> rows = new ArrayList<>();
+        if (result instanceof List<?> rawRows) {
+            for (Object rawRow : rawRows) {
+                List<?> cells = (List<?>) rawRow;
+                rows.add(new Row(
+                    String.valueOf(cells.get(0)),
+                    String.valueOf(cells.get(1)),
+                    String.valueOf(cells.get(2)),
+                    String.valueOf(cells.get(3))
+                ));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Clicks the header labelled {@code column} and returns the click-to-next-frame time in milliseconds,
+     * which {@link UiLatencyMetrics} reports as the table's re-render latency.
+     */
+    static double clickHeaderAndMeasureRender(WebDriver driver, String column) {
+        Object elapsed;
+        try (PhaseTimings.Scope ignored = PhaseTimings.start(PhaseTimings.Phase.CLICK, "sort " + column)) {
+            elapsed = ((JavascriptExecutor) driver).executeAsyncScript(CLICK_HEADER_SCRIPT, column);
+        }
+        double millis = ((Number) elapsed).doubleValue();
+        if (millis < 0) {
+            throw new NoSuchElementException("No sortable column header labelled '" + column + "'");
+        }
+        return millis;
+    }
+
+    static List<String> titles(List<Row> rows) {
+        List<String> titles = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (!row.title().isEmpty()) {
+                titles.add(row.title());
+            }
+        }
+        return titles;
+    }
+
+    record Row(String title, String author, String publisher, String link) {
+    }
+}
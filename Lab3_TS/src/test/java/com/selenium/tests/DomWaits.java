@@ -0,0 +1,90 @@
+package com.selenium.tests;
+
+import java.time.Duration;
+import java.util.Arrays;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * Waits that run inside the page: a MutationObserver re-checks the conditions on every DOM change, so a
+ * wait returns as soon as one holds instead of on the next polling tick. Selectors starting with
+ * {@code /} or {@code (} are XPath, everything else is CSS.
+ */
+final class DomWaits {
+    static final Duration SCRIPT_TIMEOUT = Duration.ofSeconds(30);
+
+    /** Defines {@code match()}: index of the first selector in {@code arguments[0]} with a visible element. */
+    private static final String MATCH_FUNCTION =
+        "const selectors = arguments[0];"
+            + "const find = sel => sel.startsWith('/') || sel.startsWith('(')"
+            + "  ? document.evaluate(sel, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue"
+            + "  : document.querySelector(sel);"
+            + "const visible = el => !!el && el.getClientRects().length > 0"
+            + "  && getComputedStyle(el).visibility !== 'hidden';"
+            + "const match = () => selectors.findIndex(sel => visible(find(sel)));";
+
+    private static final String FIRST_VISIBLE_SCRIPT =
+        MATCH_FUNCTION
+            + "const timeoutMs = arguments[1];"
+            + "const done = arguments[arguments.length - 1];"
+            + "const initial = match();"
+            + "if (initial >= 0) { done(initial); return; }"
+            + "let finished = false;"
+            + "let timer = null;"
+            + "const observer = new MutationObserver(() => { const i = match(); if (i >= 0) { finish(i); } });"
+            + "const finish = value => {"
+            + "  if (finished) { return; }"
+            + "  finished = true; observer.disconnect(); clearTimeout(timer); done(value);"
+            + "};"
+            + "observer.observe(document.documentElement,"
+            + "  { childList: true, subtree: true, attributes: true, characterData: true });"
+            + "timer = setTimeout(() => finish(match()), timeoutMs);";
+
+    private DomWaits() {
+    }
+
+    /**
+     * Waits until any of {@code selectors} matches a visible element and returns the index of the first
+     * one that does, or {@code -1} if none did within {@code timeout}. All alternatives share one deadline.
+     */
+    static int firstVisible(WebDriver driver, Duration timeout, String... selectors) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        String detail = "first visible " + Arrays.asList(selectors);
+        try (PhaseTimings.Scope ignored = PhaseTimings.start(PhaseTimings.Phase.WAIT, detail)) {
+            return awaitFirstVisible(driver, timeout, deadline, selectors);
+        }
+    }
+
+    private static int awaitFirstVisible(WebDriver driver, Duration timeout, long deadline, String... selectors) {
+        try {
+            Object index = ((JavascriptExecutor) driver).executeAsyncScript(
+                FIRST_VISIBLE_SCRIPT,
+                Arrays.asList(selectors),
+                Math.min(timeout.toMillis(), SCRIPT_TIMEOUT.minusSeconds(1).toMillis())
+            );
+            return ((Number) index).intValue();
+        } catch (WebDriverException e) {
+            // The page navigated (or the observer could not be installed); finish the wait by polling.
+            Duration remaining = Duration.ofNanos(Math.max(0L, deadline - System.nanoTime()));
+            return pollFirstVisible(driver, remaining, selectors);
+        }
+    }
+
+    private static int pollFirstVisible(WebDriver driver, Duration timeout, String... selectors) {
+        try {
+            return new WebDriverWait(driver, timeout).until(d -> {
+                Object index = ((JavascriptExecutor) d).executeScript(
+                    MATCH_FUNCTION + "return match();",
+                    Arrays.asList(selectors)
+                );
+                int matched = ((Number) index).intValue();
+                return matched >= 0 ? matched : null;
+            });
+        } catch (TimeoutException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.selenium.tests;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+/**
+ * Keeps a bounded set of warm Chrome sessions that UI tests lease in {@code @Before} and hand back in
+ * {@code @After}. Returned sessions are reset to a blank, cookie-free page; sessions that fail the health
+ * check or outlive {@code ui.pool.maxSessionAgeSeconds} / {@code ui.pool.maxLeases} are quit and replaced.
+ * With {@code -Dui.isolation=context} the sessions are attached to one {@link SharedBrowser} instead of
+ * each owning a Chrome process, and every lease gets a fresh browser context that is disposed on release.
+ */
+final class DriverPool {
+    private static final int POOL_SIZE =
+        Math.max(1, Integer.getInteger("ui.pool.size", Integer.getInteger("parallel", 1)));
+    private static final Duration MAX_SESSION_AGE =
+        Duration.ofSeconds(Long.getLong("ui.pool.maxSessionAgeSeconds", 600L));
+    private static final int MAX_LEASES = Integer.getInteger("ui.pool.maxLeases", 25);
+    private static final boolean PREWARM = Boolean.parseBoolean(System.getProperty("ui.pool.prewarm", "true"));
+    private static final boolean SHARED_BROWSER = "context".equals(System.getProperty("ui.isolation", "process"));
+
+    private static DriverPool shared;
+
+    private final BlockingQueue<PooledSession> idle = new LinkedBlockingQueue<>();
+    private final Map<WebDriver, PooledSession> leased = new ConcurrentHashMap<>();
+    private final Semaphore permits = new Semaphore(POOL_SIZE, true);
+
+    private DriverPool() {
+        if (PREWARM) {
+            warmUp();
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "driver-pool-shutdown"));
+    }
+
+    static synchronized DriverPool shared() {
+        if (shared == null) {
+            shared = new DriverPool();
+        }
+        return shared;
+    }
+
+    /** Quits every session of the shared pool, if one was ever started. */
+    static synchronized void shutdownShared() {
+        if (shared != null) {
+            shared.shutdown();
+            shared = null;
+        }
+    }
+
+    WebDriver lease() {
+        try (PhaseTimings.Scope ignored = PhaseTimings.start(PhaseTimings.Phase.DRIVER, "lease")) {
+            return leaseSession();
+        }
+    }
+
+    void release(WebDriver driver) {
+        try (PhaseTimings.Scope ignored = PhaseTimings.start(PhaseTimings.Phase.DRIVER, "release")) {
+            releaseSession(driver);
+        }
+    }
+
+    private WebDriver leaseSession() {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+        }
+
+        try {
+            PooledSession session = idle.poll();
+            while (session != null && !isUsable(session)) {
+                discard(session);
+                session = idle.poll();
+            }
+            if (session == null) {
+                session = new PooledSession(newSession());
+            }
+            if (SHARED_BROWSER) {
+                try {
+                    session.browserContextId = SharedBrowser.get().openContext((ChromeDriver) session.driver);
+                } catch (RuntimeException e) {
+                    discard(session);
+                    throw e;
+                }
+            }
+            session.leases++;
+            leased.put(session.driver, session);
+            return session.driver;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void releaseSession(WebDriver driver) {
+        PooledSession session = leased.remove(driver);
+        try {
+            if (session == null) {
+                driver.quit();
+                return;
+            }
+            if (isExpired(session) || !(SHARED_BROWSER ? closeContext(session) : reset(session.driver))) {
+                discard(session);
+                return;
+            }
+            idle.offer(session);
+        } finally {
+            if (session != null) {
+                permits.release();
+            }
+        }
+    }
+
+    void shutdown() {
+        List<PooledSession> sessions = new ArrayList<>(leased.values());
+        leased.clear();
+        idle.drainTo(sessions);
+        for (PooledSession session : sessions) {
+            discard(session);
+        }
+        if (SHARED_BROWSER) {
+            SharedBrowser.shutdown();
+        }
+    }
+
+    private static WebDriver newSession() {
+        return SHARED_BROWSER ? SharedBrowser.get().attach() : createDriver();
+    }
+
+    static WebDriver createDriver() {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--window-size=1280,720");
+        options.addArguments("--disable-gpu");
+        options.addArguments("--no-sandbox");
+        options.addArguments("--disable-dev-shm-usage");
+
+        if (Boolean.parseBoolean(System.getProperty("headless", "false"))) {
+            options.addArguments("--headless=new");
+        }
+        UiProfile.ACTIVE.apply(options);
+
+        ChromeDriver driver = new ChromeDriver(options);
+        driver.manage().timeouts().scriptTimeout(DomWaits.SCRIPT_TIMEOUT);
+        AdBlocking.install(driver);
+        return driver;
+    }
+
+    private void warmUp() {
+        List<CompletableFuture<WebDriver>> starting = new ArrayList<>();
+        for (int i = 0; i < POOL_SIZE; i++) {
+            starting.add(CompletableFuture.supplyAsync(DriverPool::newSession));
+        }
+        for (CompletableFuture<WebDriver> future : starting) {
+            try {
+                idle.offer(new PooledSession(future.join()));
+            } catch (RuntimeException e) {
+                // A session that fails to start is created on demand by lease() instead.
+                System.err.println("Could not pre-warm browser session: " + e.getMessage());
+            }
+        }
+    }
+
+    private boolean isUsable(PooledSession session) {
+        if (isExpired(session)) {
+            return false;
+        }
+        try {
+            // A shared-browser session's last window went with its context, so only the session is checked.
+            if (SHARED_BROWSER) {
+                session.driver.getWindowHandles();
+            } else {
+                session.driver.getWindowHandle();
+            }
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private boolean isExpired(PooledSession session) {
+        return session.leases >= MAX_LEASES
+            || System.nanoTime() - session.createdAtNanos > MAX_SESSION_AGE.toNanos();
+    }
+
+    private boolean reset(WebDriver driver) {
+        try {
+            try {
+                driver.switchTo().alert().dismiss();
+            } catch (NoAlertPresentException ignored) {
+                // Nothing left open by the test.
+            }
+            ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}"
+            );
+            if (driver instanceof ChromeDriver chrome) {
+                chrome.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /** Disposes the session's browser context, taking its page, cookies and storage with it. */
+    private boolean closeContext(PooledSession session) {
+        String contextId = session.browserContextId;
+        session.browserContextId = null;
+        if (contextId == null) {
+            return true;
+        }
+        try {
+            SharedBrowser.get().closeContext(contextId);
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private void discard(PooledSession session) {
+        closeContext(session);
+        try {
+            session.driver.quit();
+        } catch (WebDriverException ignored) {
+            // The session is already gone.
+        }
+    }
+
+    private static final class PooledSession {
+        private final WebDriver driver;
+        private final long createdAtNanos = System.nanoTime();
+        private int leases;
+        private String browserContextId;
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+}
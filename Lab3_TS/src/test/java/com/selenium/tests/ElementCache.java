@@ -0,0 +1,120 @@
+package com.selenium.tests;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Element handles of one test's page, looked up once per locator and reused across waits and clicks. A
+ * handle stays valid until the page navigates or re-renders the node: the driver then reports it stale on
+ * first use and it is found again. Readiness for a click (attached, visible, enabled and not covered by
+ * another element) is checked in a single script that also scrolls the element into view, so a warm click
+ * costs two round-trips (check and click) where chained {@code ExpectedConditions} cost about six.
+ */
+final class ElementCache {
+    /** Returns {@code ok}, or the first reason {@code arguments[0]} cannot take a real click yet. */
+    private static final String CLICK_STATE_SCRIPT =
+        "const el = arguments[0];"
+            + "if (!el.isConnected) { return 'detached'; }"
+            + "el.scrollIntoView({block: 'center', inline: 'nearest'});"
+            + "const rect = el.getBoundingClientRect();"
+            + "if (rect.width === 0 || rect.height === 0 || getComputedStyle(el).visibility === 'hidden') {"
+            + "  return 'hidden';"
+            + "}"
+            + "if (el.disabled || el.closest('fieldset[disabled]')) { return 'disabled'; }"
+            + "const top = document.elementFromPoint(rect.left + rect.width / 2, rect.top + rect.height / 2);"
+            + "return top && (top === el || el.contains(top)) ? 'ok' : 'covered';";
+
+    private static final String VISIBLE_SCRIPT =
+        "const el = arguments[0];"
+            + "return el.isConnected && el.getClientRects().length > 0"
+            + "  && getComputedStyle(el).visibility !== 'hidden';";
+
+    private final WebDriver driver;
+    private final Map<By, WebElement> handles = new HashMap<>();
+
+    ElementCache(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /** The cached handle for {@code locator}, found on first use; throws {@link NoSuchElementException}. */
+    WebElement find(By locator) {
+        WebElement element = handles.get(locator);
+        if (element == null) {
+            element = driver.findElement(locator);
+            handles.put(locator, element);
+        }
+        return element;
+    }
+
+    /** Applies {@code query} to the cached handle, finding the element again once if the handle went stale. */
+    <T> T read(By locator, Function<WebElement, T> query) {
+        try {
+            return query.apply(find(locator));
+        } catch (StaleElementReferenceException e) {
+            handles.remove(locator);
+            return query.apply(find(locator));
+        }
+    }
+
+    /**
+     * One poll for a wait: the element scrolled to the centre of the viewport if it can be clicked now, or
+     * {@code null}. Handles that are stale, detached or hidden are dropped so the next poll looks again, in
+     * case the page swapped the node for a new one.
+     */
+    WebElement clickable(By locator) {
+        WebElement element = present(locator);
+        if (element == null) {
+            return null;
+        }
+        try {
+            Object state = ((JavascriptExecutor) driver).executeScript(CLICK_STATE_SCRIPT, element);
+            if ("ok".equals(state)) {
+                return element;
+            }
+            if ("detached".equals(state) || "hidden".equals(state)) {
+                handles.remove(locator);
+            }
+        } catch (StaleElementReferenceException e) {
+            handles.remove(locator);
+        }
+        return null;
+    }
+
+    /** One poll for a wait: the element if it is displayed now, otherwise {@code null}. */
+    WebElement visible(By locator) {
+        WebElement element = present(locator);
+        if (element == null) {
+            return null;
+        }
+        try {
+            if (Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(VISIBLE_SCRIPT, element))) {
+                return element;
+            }
+        } catch (StaleElementReferenceException e) {
+            // Fall through and look the element up again on the next poll.
+        }
+        handles.remove(locator);
+        return null;
+    }
+
+    /** One poll for a wait: the cached or newly found element, or {@code null} while there is none. */
+    WebElement present(By locator) {
+        try {
+            return find(locator);
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+    }
+
+    /** Drops a handle the caller found to be stale, e.g. through {@link RetryPolicy}. */
+    void evict(By locator) {
+        handles.remove(locator);
+    }
+}
@@ -0,0 +1,404 @@
+package com.selenium.tests;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * On-disk record/replay store for BookStore API GETs, selected with {@code -Dhttp.cassette}:
+ * <ul>
+ *   <li>{@code record}: every call goes to the network and its response is stored;</li>
+ *   <li>{@code replay}: calls are answered from the store alone, and a call with no recording fails;</li>
+ *   <li>{@code refresh}: recordings younger than {@code http.cassette.maxAgeSeconds} are served as they are,
+ *   older ones are revalidated with {@code If-None-Match}, so unchanged data costs a 304.</li>
+ * </ul>
+ * The store ({@code http.cassette.file}) is one append-only file of length-prefixed records holding the
+ * request key, recording time, status, headers and body. Opening it maps the file read-only and walks the
+ * record headers once to index each key's newest record; bodies are handed out as slices of that mapping,
+ * so a replayed payload is parsed straight from the page cache without being copied onto the heap. Keys are
+ * paths relative to {@link ApiTestSupport#API_BASE}, so recordings made against demoqa.com replay against
+ * the local site and back.
+ *
+ * <p>A response whose status, ETag and body match the newest recording only has that recording's timestamp
+ * rewritten, so re-recording grows the file by what changed. Superseded records are never reclaimed; delete
+ * the file to compact it.
+ */
+final class HttpCassette implements Closeable {
+    static final Mode MODE = Mode.fromProperty(System.getProperty("http.cassette", "off"));
+    static final Path FILE = Paths.get(System.getProperty("http.cassette.file", "target/http-cassette.bin"));
+
+    private static final long MAX_AGE_MS =
+        TimeUnit.SECONDS.toMillis(Long.getLong("http.cassette.maxAgeSeconds", 300L));
+    private static final int MAGIC = 0x48435231;
+    private static final int RECORDED_AT_OFFSET = 8;
+    /** recordedAt, status, key length, header count and body length: the smallest valid {@code length}. */
+    private static final int MIN_LENGTH = Long.BYTES + Integer.BYTES * 4;
+
+    private static final HttpCassette SHARED = new HttpCassette(FILE, MODE);
+    private static final Stats STATS = new Stats();
+
+    private final Path file;
+    private final Mode mode;
+    private final Map<String, Long> index = new HashMap<>();
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private long size;
+
+    /** A store over {@code file}, opened on first use; {@code replay} never writes to it. */
+    HttpCassette(Path file, Mode mode) {
+        this.file = file;
+        this.mode = mode;
+    }
+
+    /** Whether calls to {@code url} go through the store in this run. */
+    static boolean covers(String url) {
+        return MODE != Mode.OFF && url.startsWith(ApiTestSupport.API_BASE);
+    }
+
+    /** Newest recording for {@code url}, or {@code null} when there is none. */
+    static Recording find(String url) throws IOException {
+        return SHARED.lookup(keyOf(url));
+    }
+
+    /** Stores a response and makes it the recording served for {@code url} from now on. */
+    static Recording record(String url, int status, Map<String, List<String>> headers, byte[] body)
+        throws IOException {
+        Recording recording = SHARED.store(keyOf(url), status, headers, body, System.currentTimeMillis());
+        STATS.recorded.incrementAndGet();
+        return recording;
+    }
+
+    /** Marks a stale recording fresh again after a 304, by rewriting its timestamp in place. */
+    static void revalidated(Recording recording) throws IOException {
+        SHARED.touch(recording, System.currentTimeMillis());
+        STATS.revalidated.incrementAndGet();
+    }
+
+    static void replayed() {
+        STATS.replayed.incrementAndGet();
+    }
+
+    static Stats stats() {
+        return STATS;
+    }
+
+    private static String keyOf(String url) {
+        return "GET " + url.substring(ApiTestSupport.API_BASE.length());
+    }
+
+    synchronized Recording lookup(String key) throws IOException {
+        open();
+        Long offset = index.get(key);
+        return offset == null ? null : read(offset);
+    }
+
+    /**
+     * Appends a response recorded at {@code now}, or, when status, ETag and body match the newest recording
+     * of {@code key}, rewrites that recording's timestamp instead.
+     */
+    synchronized Recording store(String key, int status, Map<String, List<String>> headers, byte[] body, long now)
+        throws IOException {
+        open();
+        Long previous = index.get(key);
+        if (previous != null) {
+            Recording recording = read(previous);
+            if (recording.status() == status
+                && Objects.equals(recording.etag(), etagOf(headers))
+                && recording.bodyBuffer().equals(ByteBuffer.wrap(body))) {
+                touch(recording, now);
+                return read(previous);
+            }
+        }
+        ByteBuffer record = encode(key, now, status, headers, body);
+        long offset = size;
+        while (record.hasRemaining()) {
+            channel.write(record, size + record.position());
+        }
+        size += record.limit();
+        index.put(key, offset);
+        remap();
+        return read(offset);
+    }
+
+    synchronized void touch(Recording recording, long now) throws IOException {
+        ByteBuffer timestamp = ByteBuffer.allocate(Long.BYTES).putLong(0, now);
+        channel.write(timestamp, recording.offset() + RECORDED_AT_OFFSET);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+            mapped = null;
+            index.clear();
+        }
+    }
+
+    /**
+     * Maps the file and indexes it. A last record whose header is intact but whose bytes run past the end of
+     * the file was torn by an interrupted run and is cut off; anything else that does not parse means the
+     * file is not a cassette, and it is left alone.
+     */
+    private void open() throws IOException {
+        if (channel != null) {
+            return;
+        }
+        Path parent = file.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = mode == Mode.REPLAY && Files.exists(file)
+            ? FileChannel.open(file, StandardOpenOption.READ)
+            : FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            size = channel.size();
+            remap();
+            long offset = indexRecords();
+            if (offset < size && mode != Mode.REPLAY) {
+                channel.truncate(offset);
+                size = offset;
+                remap();
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /** Indexes each key's newest record and returns where the intact records end. */
+    private long indexRecords() throws IOException {
+        long offset = 0L;
+        while (offset < size) {
+            if (!startsWithMagic(offset)) {
+                throw new IOException("not an http cassette: " + file);
+            }
+            if (size - offset < RECORDED_AT_OFFSET) {
+                return offset;
+            }
+            int length = mapped.getInt((int) offset + Integer.BYTES);
+            if (length < MIN_LENGTH) {
+                throw new IOException("not an http cassette: " + file);
+            }
+            long end = offset + RECORDED_AT_OFFSET + length;
+            if (end > size) {
+                return offset;
+            }
+            try {
+                ByteBuffer header = mapped.slice((int) offset, (int) (end - offset));
+                header.position(RECORDED_AT_OFFSET + Long.BYTES + Integer.BYTES);
+                index.put(readString(header), offset);
+            } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+                throw new IOException("not an http cassette: " + file, e);
+            }
+            offset = end;
+        }
+        return offset;
+    }
+
+    /** Whether the bytes from {@code offset}, up to four of them, are those of {@link #MAGIC}. */
+    private boolean startsWithMagic(long offset) {
+        int available = (int) Math.min(Integer.BYTES, size - offset);
+        for (int i = 0; i < available; i++) {
+            if (mapped.get((int) offset + i) != (byte) (MAGIC >>> (24 - 8 * i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void remap() throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException(file + " is larger than 2 GB; start a new cassette");
+        }
+        mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+    }
+
+    private Recording read(long offset) throws IOException {
+        try {
+            int length = RECORDED_AT_OFFSET + mapped.getInt((int) offset + Integer.BYTES);
+            ByteBuffer record = mapped.slice((int) offset, length);
+            record.position(RECORDED_AT_OFFSET);
+            long recordedAt = record.getLong();
+            int status = record.getInt();
+            readString(record);
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            for (int count = record.getInt(); count > 0; count--) {
+                headers.computeIfAbsent(readString(record), name -> new ArrayList<>()).add(readString(record));
+            }
+            int bodyLength = record.getInt();
+            ByteBuffer body = record.slice(record.position(), bodyLength).asReadOnlyBuffer();
+            return new Recording(offset, recordedAt, status, headers, body);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Corrupt record at offset " + offset + " in " + file, e);
+        }
+    }
+
+    private static String etagOf(Map<String, List<String>> headers) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if ("etag".equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+                return header.getValue().get(0);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * {@code magic, length, recordedAt, status, key, headerCount, (name, value)*, bodyLength, body}; strings
+     * are a length followed by UTF-8, and {@code length} counts the bytes from {@code recordedAt} to the end.
+     */
+    private static ByteBuffer encode(
+        String key,
+        long recordedAt,
+        int status,
+        Map<String, List<String>> headers,
+        byte[] body
+    ) {
+        List<byte[]> strings = new ArrayList<>();
+        strings.add(key.getBytes(StandardCharsets.UTF_8));
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            for (String value : header.getValue()) {
+                strings.add(header.getKey().getBytes(StandardCharsets.UTF_8));
+                strings.add(value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int length = Long.BYTES + Integer.BYTES * 3 + body.length;
+        for (byte[] string : strings) {
+            length += Integer.BYTES + string.length;
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(RECORDED_AT_OFFSET + length)
+            .putInt(MAGIC)
+            .putInt(length)
+            .putLong(recordedAt)
+            .putInt(status);
+        writeString(record, strings.get(0));
+        record.putInt((strings.size() - 1) / 2);
+        for (int i = 1; i < strings.size(); i++) {
+            writeString(record, strings.get(i));
+        }
+        return record.putInt(body.length).put(body).flip();
+    }
+
+    private static void writeString(ByteBuffer buffer, byte[] utf8) {
+        buffer.putInt(utf8.length).put(utf8);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        String value = StandardCharsets.UTF_8.decode(buffer.slice(buffer.position(), length)).toString();
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    enum Mode {
+        OFF,
+        RECORD,
+        REPLAY,
+        REFRESH;
+
+        private static Mode fromProperty(String value) {
+            for (Mode mode : values()) {
+                if (mode.name().equalsIgnoreCase(value.strip())) {
+                    return mode;
+                }
+            }
+            throw new IllegalArgumentException(
+                "Unknown http.cassette '" + value + "', expected one of "
+                    + Arrays.toString(values()).toLowerCase(Locale.ROOT)
+            );
+        }
+    }
+
+    /** A stored response; {@link #body()} reads from the mapped file. */
+    record Recording(long offset, long recordedAtMillis, int status, Map<String, List<String>> headers,
+        ByteBuffer bodyBuffer) {
+        InputStream body() {
+            return new BufferInputStream(bodyBuffer.duplicate());
+        }
+
+        String etag() {
+            return etagOf(headers);
+        }
+
+        boolean isStale() {
+            return System.currentTimeMillis() - recordedAtMillis > MAX_AGE_MS;
+        }
+    }
+
+    /** Counters for the report's HTTP Client section. */
+    static final class Stats {
+        private final AtomicLong replayed = new AtomicLong();
+        private final AtomicLong recorded = new AtomicLong();
+        private final AtomicLong revalidated = new AtomicLong();
+
+        long replayed() {
+            return replayed.get();
+        }
+
+        long recorded() {
+            return recorded.get();
+        }
+
+        long revalidated() {
+            return revalidated.get();
+        }
+    }
+
+    private static final class BufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(target, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public long skip(long count) {
+            int skipped = (int) Math.min(Math.max(count, 0L), buffer.remaining());
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+    }
+}
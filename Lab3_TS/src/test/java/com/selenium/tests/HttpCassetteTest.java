@@ -0,0 +1,89 @@
+package com.selenium.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class HttpCassetteTest {
+    private static final String BOOKS_KEY = "GET /Books";
+    private static final String BOOKS_BODY = "{\"books\":[{\"isbn\":\"9781449325862\"}]}";
+    private static final Map<String, List<String>> BOOKS_HEADERS = Map.of("ETag", List.of("\"v1\""));
+
+    @Test
+    public void shouldCutTornTailAndKeepRevalidatedTimestamp() throws IOException {
+        Path file = Files.createTempFile("http-cassette", ".bin");
+        try {
+            try (HttpCassette cassette = new HttpCassette(file, HttpCassette.Mode.RECORD)) {
+                cassette.store(BOOKS_KEY, 200, BOOKS_HEADERS, bytes(BOOKS_BODY), 1_000L);
+                cassette.store("GET /Book?ISBN=1", 404, Map.of(), bytes("{}"), 1_000L);
+            }
+            long intact = Files.size(file);
+            try (HttpCassette cassette = new HttpCassette(file, HttpCassette.Mode.RECORD)) {
+                cassette.store("GET /Book?ISBN=2", 200, Map.of(), bytes("{\"isbn\":\"2\"}"), 2_000L);
+            }
+            // A run killed mid-append leaves the head of its last record behind.
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(Files.size(file) - 3);
+            }
+
+            try (HttpCassette cassette = new HttpCassette(file, HttpCassette.Mode.REFRESH)) {
+                HttpCassette.Recording books = cassette.lookup(BOOKS_KEY);
+                assertEquals("Torn record should be cut off", intact, Files.size(file));
+                assertNull(cassette.lookup("GET /Book?ISBN=2"));
+                assertEquals(404, cassette.lookup("GET /Book?ISBN=1").status());
+                assertEquals(1_000L, books.recordedAtMillis());
+                assertEquals("\"v1\"", books.etag());
+                cassette.touch(books, 5_000L);
+            }
+
+            try (HttpCassette cassette = new HttpCassette(file, HttpCassette.Mode.REPLAY)) {
+                HttpCassette.Recording books = cassette.lookup(BOOKS_KEY);
+                assertEquals(5_000L, books.recordedAtMillis());
+                assertEquals(BOOKS_BODY, new String(books.body().readAllBytes(), StandardCharsets.UTF_8));
+            }
+
+            try (HttpCassette cassette = new HttpCassette(file, HttpCassette.Mode.RECORD)) {
+                cassette.store(BOOKS_KEY, 200, BOOKS_HEADERS, bytes(BOOKS_BODY), 9_000L);
+                assertEquals("Unchanged response should not be appended", intact, Files.size(file));
+                assertEquals(9_000L, cassette.lookup(BOOKS_KEY).recordedAtMillis());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void shouldRefuseFileThatIsNotACassette() throws IOException {
+        Path file = Files.createTempFile("http-cassette", ".bin");
+        try {
+            byte[] foreign = bytes("{\"books\":[]}\n");
+            Files.write(file, foreign);
+            try (HttpCassette cassette = new HttpCassette(file, HttpCassette.Mode.RECORD)) {
+                cassette.lookup(BOOKS_KEY);
+                fail("Expected a foreign file to be rejected");
+            } catch (IOException e) {
+                assertTrue(e.getMessage(), e.getMessage().startsWith("not an http cassette"));
+            }
+            assertArrayEquals(foreign, Files.readAllBytes(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,79 @@
+package com.selenium.tests;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent latency histogram with the HdrHistogram bucket layout: values (microseconds) land in
+ * power-of-two buckets split into 2048 linear sub-buckets, so every recorded value keeps three significant
+ * digits from 1 µs up to an hour while the counts stay a fixed-size array. Recording is lock-free.
+ */
+final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 11;
+    private static final int SUB_BUCKET_HALF_BITS = SUB_BUCKET_BITS - 1;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = 1 << SUB_BUCKET_HALF_BITS;
+    private static final long SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1L;
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final AtomicLongArray counts = new AtomicLongArray(countsIndex(MAX_TRACKABLE_MICROS) + 1);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0L);
+
+    void recordNanos(long nanos) {
+        long micros = Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 0L), MAX_TRACKABLE_MICROS);
+        counts.incrementAndGet(countsIndex(micros));
+        totalCount.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    long totalCount() {
+        return totalCount.sum();
+    }
+
+    double meanMillis() {
+        long count = totalCount.sum();
+        return count == 0L ? 0.0 : totalMicros.sum() / 1000.0 / count;
+    }
+
+    double maxMillis() {
+        return maxMicros.get() / 1000.0;
+    }
+
+    /** Upper bound of the bucket holding the given percentile, in milliseconds; {@code 0} when empty. */
+    double percentileMillis(double percentile) {
+        long count = totalCount.sum();
+        if (count == 0L) {
+            return 0.0;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0L;
+        for (int index = 0; index < counts.length(); index++) {
+            seen += counts.get(index);
+            if (seen >= rank) {
+                return Math.min(highestEquivalentValue(index), maxMicros.get()) / 1000.0;
+            }
+        }
+        return maxMillis();
+    }
+
+    private static int countsIndex(long micros) {
+        int bucket = (63 - Long.numberOfLeadingZeros(micros | SUB_BUCKET_MASK)) - SUB_BUCKET_HALF_BITS;
+        int subBucket = (int) (micros >>> bucket);
+        return ((bucket + 1) << SUB_BUCKET_HALF_BITS) + (subBucket - SUB_BUCKET_HALF_COUNT);
+    }
+
+    private static long highestEquivalentValue(int index) {
+        int bucket = (index >> SUB_BUCKET_HALF_BITS) - 1;
+        long subBucket = (index & (SUB_BUCKET_HALF_COUNT - 1)) + SUB_BUCKET_HALF_COUNT;
+        if (bucket < 0) {
+            subBucket -= SUB_BUCKET_HALF_COUNT;
+            bucket = 0;
+        }
+        return (subBucket << bucket) + (1L << bucket) - 1L;
+    }
+}
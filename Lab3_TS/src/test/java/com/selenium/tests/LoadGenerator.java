@@ -0,0 +1,105 @@
+package com.selenium.tests;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load mode for the BookStore API ({@code -Dload=true}). Each endpoint is driven at a constant
+ * arrival rate of {@code load.rate} requests/s for {@code load.durationSeconds}, one virtual thread per
+ * request and at most {@code load.maxInFlight} outstanding. Latency is measured from a request's scheduled
+ * start rather than its actual send, so time spent queued behind a slow server (or the in-flight cap) is
+ * counted instead of being hidden by coordinated omission.
+ */
+final class LoadGenerator {
+    static final boolean ENABLED = Boolean.getBoolean("load");
+
+    private static final int RATE_PER_SECOND = Integer.getInteger("load.rate", 50);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.durationSeconds", 10);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("load.maxInFlight", 256);
+    private static final String FALLBACK_ISBN = "9781449325862";
+
+    private LoadGenerator() {
+    }
+
+    /**
+     * Drives {@code /Books} and then {@code /Book?ISBN=} so each result reflects one endpoint alone. Load
+     * requests always go to the network, even when an {@link HttpCassette} serves the suite.
+     */
+    static List<EndpointResult> run() throws IOException {
+        String isbn = ApiTestSupport.httpGet(ApiTestSupport.API_BASE + "/Books", BookJsonReader::firstIsbn).value;
+        List<EndpointResult> results = new ArrayList<>();
+        results.add(drive("GET /Books", ApiTestSupport.API_BASE + "/Books"));
+        results.add(drive(
+            "GET /Book?ISBN=",
+            ApiTestSupport.API_BASE + "/Book?ISBN=" + (isbn != null ? isbn : FALLBACK_ISBN)
+        ));
+        return results;
+    }
+
+    private static EndpointResult drive(String name, String url) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, RATE_PER_SECOND);
+        long planned = (long) RATE_PER_SECOND * DURATION_SECONDS;
+        LatencyHistogram histogram = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        Semaphore inFlight = new Semaphore(Math.max(1, MAX_IN_FLIGHT));
+
+        long startedAt = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < planned; i++) {
+                long scheduledAt = startedAt + i * intervalNanos;
+                long delay;
+                while ((delay = scheduledAt - System.nanoTime()) > 0L) {
+                    LockSupport.parkNanos(delay);
+                }
+                inFlight.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        int status = ApiTestSupport.httpGetLive(url, LoadGenerator::discard).statusCode;
+                        if (status < 200 || status >= 300) {
+                            errors.increment();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        errors.increment();
+                    } finally {
+                        histogram.recordNanos(System.nanoTime() - scheduledAt);
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return new EndpointResult(name, RATE_PER_SECOND, MAX_IN_FLIGHT, System.nanoTime() - startedAt,
+            errors.sum(), histogram);
+    }
+
+    private static Void discard(InputStream body) throws IOException {
+        body.transferTo(OutputStream.nullOutputStream());
+        return null;
+    }
+
+    record EndpointResult(
+        String endpoint,
+        int targetRate,
+        int maxInFlight,
+        long elapsedNanos,
+        long errors,
+        LatencyHistogram latency
+    ) {
+        double throughputPerSecond() {
+            return elapsedNanos == 0L ? 0.0 : latency.totalCount() * 1e9 / elapsedNanos;
+        }
+
+        double errorRatePercent() {
+            long requests = latency.totalCount();
+            return requests == 0L ? 0.0 : errors * 100.0 / requests;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.selenium.tests;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Loopback stand-in for the parts of demoqa.com the suite touches: the BookStore {@code /Books} and
+ * {@code /Book?ISBN=} endpoints, the Account {@code GenerateToken}/{@code Login} endpoints for one built-in
+ * user with an in-memory collection, plus a static copy of the books, login and profile pages. Book
+ * responses carry an ETag and honour {@code If-None-Match}, as a caching front end would. Started by
+ * {@link TestSite} when {@code -Dsite.local=true} is set.
+ */
+final class LocalBookStore {
+    static final String USER_NAME = "local-tester";
+    static final String PASSWORD = "Local-tester1!";
+
+    private static final String USER_ID = UUID.nameUUIDFromBytes(USER_NAME.getBytes(StandardCharsets.UTF_8)).toString();
+    private static final Duration TOKEN_LIFETIME = Duration.ofHours(1);
+    private static final Pattern ISBN_FIELD = Pattern.compile("\"isbn\"\\s*:\\s*\"([^\"]+)\"");
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String RESOURCE_ROOT = "/localsite/";
+    private static final String CATALOGUE = readResource("books.json");
+    private static final String SITE_PAGE = readResource("index.html");
+
+    private static final Map<String, Instant> TOKENS = new ConcurrentHashMap<>();
+    private static final Set<String> COLLECTION = ConcurrentHashMap.newKeySet();
+
+    private static HttpServer server;
+    private static ExecutorService executor;
+
+    private LocalBookStore() {
+    }
+
+    /** Starts the server on an ephemeral loopback port (once) and returns its base URL. */
+    static synchronized String start() {
+        if (server == null) {
+            try {
+                server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start local book store", e);
+            }
+            executor = Executors.newFixedThreadPool(8, runnable -> {
+                Thread thread = new Thread(runnable, "local-bookstore");
+                thread.setDaemon(true);
+                return thread;
+            });
+            server.setExecutor(executor);
+            server.createContext("/BookStore/v1/Books", LocalBookStore::handleBooks);
+            server.createContext("/BookStore/v1/Book", LocalBookStore::handleBook);
+            server.createContext("/Account/v1/GenerateToken", LocalBookStore::handleGenerateToken);
+            server.createContext("/Account/v1/Login", LocalBookStore::handleLogin);
+            server.createContext("/", LocalBookStore::handlePage);
+            server.start();
+        }
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            executor = null;
+        }
+    }
+
+    private static void handleBooks(HttpExchange exchange) throws IOException {
+        if ("POST".equals(exchange.getRequestMethod())) {
+            handleAddToCollection(exchange);
+            return;
+        }
+        sendCacheable(exchange, CATALOGUE);
+    }
+
+    private static void handleAddToCollection(HttpExchange exchange) throws IOException {
+        String body = readBody(exchange);
+        String userId = BookJsonReader.readScalarFields(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)))
+            .get("userId");
+        if (!isAuthorized(exchange) || !USER_ID.equals(userId)) {
+            send(exchange, 401, JSON, "{\"code\":\"1200\",\"message\":\"User not authorized!\"}");
+            return;
+        }
+        Matcher isbn = ISBN_FIELD.matcher(body);
+        if (!isbn.find() || findBook(isbn.group(1)) == null) {
+            send(
+                exchange,
+                400,
+                JSON,
+                "{\"code\":\"1205\",\"message\":\"ISBN supplied is not available in Books Collection!\"}"
+            );
+            return;
+        }
+        if (!COLLECTION.add(isbn.group(1))) {
+            send(
+                exchange,
+                400,
+                JSON,
+                "{\"code\":\"1210\",\"message\":\"ISBN already present in the User's Collection!\"}"
+            );
+            return;
+        }
+        send(exchange, 201, JSON, "{\"books\":[{\"isbn\":" + Json.quote(isbn.group(1)) + "}]}");
+    }
+
+    private static void handleGenerateToken(HttpExchange exchange) throws IOException {
+        if (!hasValidCredentials(exchange)) {
+            send(exchange, 200, JSON, "{\"token\":null,\"expires\":null,\"status\":\"Failed\","
+                + "\"result\":\"User authorization failed.\"}");
+            return;
+        }
+        String token = issueToken();
+        send(exchange, 200, JSON, "{\"token\":\"" + token + "\",\"expires\":\"" + TOKENS.get(token) + "\","
+            + "\"status\":\"Success\",\"result\":\"User authorized successfully.\"}");
+    }
+
+    private static void handleLogin(HttpExchange exchange) throws IOException {
+        if (!hasValidCredentials(exchange)) {
+            send(exchange, 404, JSON, "{\"code\":\"1207\",\"message\":\"User not found!\"}");
+            return;
+        }
+        String token = issueToken();
+        send(exchange, 200, JSON, "{\"userId\":\"" + USER_ID + "\",\"username\":\"" + USER_NAME + "\","
+            + "\"token\":\"" + token + "\",\"expires\":\"" + TOKENS.get(token) + "\",\"isActive\":false}");
+    }
+
+    private static boolean hasValidCredentials(HttpExchange exchange) throws IOException {
+        Map<String, String> credentials = BookJsonReader.readScalarFields(exchange.getRequestBody());
+        return USER_NAME.equals(credentials.get("userName")) && PASSWORD.equals(credentials.get("password"));
+    }
+
+    private static String issueToken() {
+        String token = UUID.randomUUID().toString();
+        TOKENS.put(token, Instant.now().plus(TOKEN_LIFETIME));
+        return token;
+    }
+
+    private static boolean isAuthorized(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            return false;
+        }
+        Instant expires = TOKENS.get(header.substring("Bearer ".length()));
+        return expires != null && Instant.now().isBefore(expires);
+    }
+
+    private static void handleBook(HttpExchange exchange) throws IOException {
+        String isbn = queryParameter(exchange, "ISBN");
+        String book = isbn == null ? null : findBook(isbn);
+        if (book == null) {
+            send(
+                exchange,
+                400,
+                JSON,
+                "{\"code\":\"1205\",\"message\":\"ISBN supplied is not available in Books Collection!\"}"
+            );
+            return;
+        }
+        sendCacheable(exchange, book);
+    }
+
+    private static void handlePage(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        switch (path) {
+            case "/books", "/login", "/profile" -> send(exchange, 200, "text/html; charset=utf-8", SITE_PAGE);
+            default -> send(exchange, 404, "text/plain; charset=utf-8", "Not found");
+        }
+    }
+
+    /** Book objects in the catalogue are flat, so the enclosing braces of the ISBN field delimit the record. */
+    private static String findBook(String isbn) {
+        int field = CATALOGUE.indexOf("\"isbn\":\"" + isbn + "\"");
+        if (field < 0) {
+            return null;
+        }
+        int start = CATALOGUE.lastIndexOf('{', field);
+        int end = CATALOGUE.indexOf('}', field);
+        return CATALOGUE.substring(start, end + 1);
+    }
+
+    private static String queryParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /** 200 with an ETag, or a bodiless 304 when the client already holds this version. */
+    private static void sendCacheable(HttpExchange exchange, String body) throws IOException {
+        String etag = "\"" + Integer.toHexString(body.hashCode()) + "\"";
+        exchange.getResponseHeaders().set("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        send(exchange, 200, JSON, body);
+    }
+
+    private static String readResource(String name) {
+        try (InputStream in = LocalBookStore.class.getResourceAsStream(RESOURCE_ROOT + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing test resource " + RESOURCE_ROOT + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
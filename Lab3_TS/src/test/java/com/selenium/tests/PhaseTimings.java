@@ -0,0 +1,101 @@
+package com.selenium.tests;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Nanosecond spans for the phases of a test (driver lease, navigation, waits, clicks, HTTP calls).
+ * {@link App}'s recorder opens a recording when a test starts on a thread; spans opened on that thread
+ * land in a lock-free queue, which also accepts spans closed later on another thread.
+ */
+final class PhaseTimings {
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    private PhaseTimings() {
+    }
+
+    static void begin() {
+        CURRENT.set(new Recording(System.nanoTime()));
+    }
+
+    /** Detaches and returns the current thread's recording, or {@code null} if none was open. */
+    static Recording end() {
+        Recording recording = CURRENT.get();
+        CURRENT.remove();
+        return recording;
+    }
+
+    /** Opens a span; outside a recording the returned scope is a no-op. */
+    static Scope start(Phase phase, String detail) {
+        return new Scope(CURRENT.get(), phase, detail, System.nanoTime());
+    }
+
+    enum Phase {
+        DRIVER("Driver"),
+        NAVIGATION("Navigation"),
+        WAIT("Waits"),
+        CLICK("Clicks"),
+        HTTP("HTTP");
+
+        final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    record Span(Phase phase, String detail, long startNanos, long durationNanos) {
+    }
+
+    static final class Recording {
+        private final long startedAtNanos;
+        private final Queue<Span> spans = new ConcurrentLinkedQueue<>();
+
+        private Recording(long startedAtNanos) {
+            this.startedAtNanos = startedAtNanos;
+        }
+
+        long startedAtNanos() {
+            return startedAtNanos;
+        }
+
+        List<Span> spans() {
+            return List.copyOf(spans);
+        }
+
+        long totalNanos(Phase phase) {
+            long total = 0L;
+            for (Span span : spans) {
+                if (span.phase() == phase) {
+                    total += span.durationNanos();
+                }
+            }
+            return total;
+        }
+    }
+
+    static final class Scope implements AutoCloseable {
+        private final Recording recording;
+        private final Phase phase;
+        private final String detail;
+        private final long startNanos;
+        private boolean closed;
+
+        private Scope(Recording recording, Phase phase, String detail, long startNanos) {
+            this.recording = recording;
+            this.phase = phase;
+            this.detail = detail;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void close() {
+            if (recording == null || closed) {
+                return;
+            }
+            closed = true;
+            recording.spans.add(new Span(phase, detail, startNanos, System.nanoTime() - startNanos));
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.selenium.tests;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples CPU and resident memory of the JVM and its process tree (chromedriver and the Chrome processes
+ * under it) from {@code /proc} every {@code resources.intervalMs} (250 by default; {@code 0} turns it off, as
+ * does a host without {@code /proc}). Children are found through {@code /proc/<pid>/task/<tid>/children}, so
+ * a sample reads only the tree's own files instead of scanning every process on the agent. Tests open a
+ * {@link Window} when they start and every sample is added to each open window, so tests that overlap in
+ * parallel mode share the samples taken while both ran. A test that drives a browser is charged the whole
+ * tree and any other test the JVM alone; the pooled chromedriver and the shared Chrome serve every browser
+ * test at once, so no finer split is possible. Per-area figures are kept here too: a sample is added once to
+ * each area with an open window, however many of its tests overlap.
+ */
+final class ResourceSampler {
+    static final long INTERVAL_MS = Long.getLong("resources.intervalMs", 250L);
+
+    /** USER_HZ, the unit of the CPU times in {@code /proc/<pid>/stat}; 100 on every mainstream kernel. */
+    private static final double CLOCK_TICKS_PER_SECOND = 100.0;
+    private static final Path PROC = Paths.get("/proc");
+
+    private static ResourceSampler running;
+
+    private final long selfPid = ProcessHandle.current().pid();
+    private final Map<Long, Long> previousTicks = new HashMap<>();
+    private final Map<Window, Charge> windows = new HashMap<>();
+    private final Map<String, Area> areas = new LinkedHashMap<>();
+    private final Map<Group, Window> groups = new EnumMap<>(Group.class);
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "resource-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long lastSampleNanos = System.nanoTime();
+
+    private ResourceSampler() {
+        for (Group group : Group.values()) {
+            groups.put(group, new Window());
+        }
+    }
+
+    /** Starts the shared sampler unless it is disabled or unsupported here. */
+    static synchronized void start() {
+        if (running != null || INTERVAL_MS <= 0L || !Files.isReadable(PROC.resolve("self").resolve("stat"))) {
+            return;
+        }
+        running = new ResourceSampler();
+        running.executor.scheduleAtFixedRate(running::sample, 0L, INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /** Stops sampling and returns run-wide usage per process group and per area; empty when nothing ran. */
+    static synchronized Summary stop() {
+        if (running == null) {
+            return new Summary(Map.of(), Map.of());
+        }
+        running.executor.shutdownNow();
+        try {
+            running.executor.awaitTermination(INTERVAL_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Summary summary = running.summary();
+        running = null;
+        return summary;
+    }
+
+    /**
+     * Starts collecting for one test of {@code area}, charged the whole process tree when it drives a browser
+     * and the JVM alone otherwise; {@code null} when the sampler is not running.
+     */
+    static synchronized Window open(String area, boolean browser) {
+        if (running == null) {
+            return null;
+        }
+        Window window = new Window();
+        synchronized (running) {
+            Area totals = running.areas.computeIfAbsent(area, a -> new Area());
+            totals.tests++;
+            totals.openWindows++;
+            if (browser) {
+                totals.openBrowserWindows++;
+            }
+            running.windows.put(window, new Charge(totals, browser));
+        }
+        return window;
+    }
+
+    /** Stops collecting for {@code window} and returns what it saw; {@code null} for a {@code null} window. */
+    static synchronized Usage close(Window window) {
+        if (window == null) {
+            return null;
+        }
+        if (running != null) {
+            synchronized (running) {
+                Charge charge = running.windows.remove(window);
+                if (charge != null) {
+                    charge.area().openWindows--;
+                    if (charge.browser()) {
+                        charge.area().openBrowserWindows--;
+                    }
+                }
+            }
+        }
+        return window.usage();
+    }
+
+    private void sample() {
+        long now = System.nanoTime();
+        double elapsedSeconds = Math.max(1e-3, (now - lastSampleNanos) / 1e9);
+        lastSampleNanos = now;
+
+        Map<Group, Double> cpuPercent = new EnumMap<>(Group.class);
+        Map<Group, Long> rssBytes = new EnumMap<>(Group.class);
+        for (Group group : Group.values()) {
+            cpuPercent.put(group, 0.0);
+            rssBytes.put(group, 0L);
+        }
+
+        Map<Long, Long> ticks = new HashMap<>();
+        Deque<Long> pending = new ArrayDeque<>();
+        pending.add(selfPid);
+        while (!pending.isEmpty()) {
+            long pid = pending.poll();
+            ProcessStat stat = ProcessStat.read(pid);
+            if (stat == null) {
+                continue;
+            }
+            Group group = pid == selfPid ? Group.JVM : stat.command().contains("chromedriver")
+                ? Group.CHROMEDRIVER
+                : Group.CHROME;
+            long delta = stat.cpuTicks() - previousTicks.getOrDefault(pid, 0L);
+            ticks.put(pid, stat.cpuTicks());
+            double cpu = Math.max(0L, delta) / CLOCK_TICKS_PER_SECOND / elapsedSeconds * 100.0;
+            cpuPercent.merge(group, cpu, Double::sum);
+            rssBytes.merge(group, residentBytes(pid), Long::sum);
+            addChildren(pid, pending);
+        }
+        boolean baseline = previousTicks.isEmpty();
+        previousTicks.clear();
+        previousTicks.putAll(ticks);
+        if (baseline) {
+            // The first walk only establishes CPU counters; its deltas would span the whole JVM lifetime.
+            return;
+        }
+
+        double totalCpu = 0.0;
+        long totalRss = 0L;
+        for (Group group : Group.values()) {
+            groups.get(group).add(cpuPercent.get(group), rssBytes.get(group), elapsedSeconds);
+            totalCpu += cpuPercent.get(group);
+            totalRss += rssBytes.get(group);
+        }
+        double jvmCpu = cpuPercent.get(Group.JVM);
+        long jvmRss = rssBytes.get(Group.JVM);
+        synchronized (this) {
+            for (Map.Entry<Window, Charge> open : windows.entrySet()) {
+                if (open.getValue().browser()) {
+                    open.getKey().add(totalCpu, totalRss, elapsedSeconds);
+                } else {
+                    open.getKey().add(jvmCpu, jvmRss, elapsedSeconds);
+                }
+            }
+            for (Area area : areas.values()) {
+                if (area.openBrowserWindows > 0) {
+                    area.usage.add(totalCpu, totalRss, elapsedSeconds);
+                } else if (area.openWindows > 0) {
+                    area.usage.add(jvmCpu, jvmRss, elapsedSeconds);
+                }
+            }
+        }
+    }
+
+    private synchronized Summary summary() {
+        Map<Group, Usage> processes = new EnumMap<>(Group.class);
+        for (Map.Entry<Group, Window> group : groups.entrySet()) {
+            processes.put(group.getKey(), group.getValue().usage());
+        }
+        Map<String, AreaUsage> areaUsage = new LinkedHashMap<>();
+        for (Map.Entry<String, Area> area : areas.entrySet()) {
+            areaUsage.put(area.getKey(), new AreaUsage(area.getValue().tests, area.getValue().usage.usage()));
+        }
+        return new Summary(processes, areaUsage);
+    }
+
+    private static void addChildren(long pid, Deque<Long> pending) {
+        Path taskDirectory = PROC.resolve(Long.toString(pid)).resolve("task");
+        try (DirectoryStream<Path> tasks = Files.newDirectoryStream(taskDirectory)) {
+            for (Path task : tasks) {
+                String children = Files.readString(task.resolve("children"), StandardCharsets.US_ASCII).strip();
+                if (!children.isEmpty()) {
+                    for (String child : children.split("\\s+")) {
+                        pending.add(Long.parseLong(child));
+                    }
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // The process exited mid-walk, or the kernel lacks CONFIG_PROC_CHILDREN.
+        }
+    }
+
+    /** {@code VmRSS} from {@code /proc/<pid>/status}, which is already in kB unlike the page counts in stat. */
+    private static long residentBytes(long pid) {
+        try {
+            for (String line : Files.readAllLines(PROC.resolve(Long.toString(pid)).resolve("status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.substring(6).replace("kB", "").strip()) * 1024L;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Exited between reads.
+        }
+        return 0L;
+    }
+
+    enum Group {
+        JVM("JVM"),
+        CHROMEDRIVER("chromedriver"),
+        CHROME("Chrome");
+
+        final String label;
+
+        Group(String label) {
+            this.label = label;
+        }
+    }
+
+    private record ProcessStat(String command, long cpuTicks) {
+        /** Fields after the parenthesised command start at field 3 (state); utime and stime are 14 and 15. */
+        static ProcessStat read(long pid) {
+            try {
+                Path path = PROC.resolve(Long.toString(pid)).resolve("stat");
+                String stat = Files.readString(path, StandardCharsets.UTF_8);
+                int commandStart = stat.indexOf('(');
+                int commandEnd = stat.lastIndexOf(')');
+                String[] fields = stat.substring(commandEnd + 2).split(" ");
+                return new ProcessStat(
+                    stat.substring(commandStart + 1, commandEnd),
+                    Long.parseLong(fields[11]) + Long.parseLong(fields[12])
+                );
+            } catch (IOException | RuntimeException e) {
+                return null;
+            }
+        }
+    }
+
+    /** How an open window is charged, and the area whose totals it keeps active. */
+    private record Charge(Area area, boolean browser) {
+    }
+
+    /** One area's tests: how many opened a window, how many are open now, and the samples taken meanwhile. */
+    private static final class Area {
+        private final Window usage = new Window();
+        private int tests;
+        private int openWindows;
+        private int openBrowserWindows;
+    }
+
+    /** Running totals over the samples taken while it was open. */
+    static final class Window {
+        private int samples;
+        private double cpuPercentSum;
+        private double peakCpuPercent;
+        private double cpuSeconds;
+        private double rssBytesSum;
+        private long peakRssBytes;
+
+        private synchronized void add(double cpuPercent, long rssBytes, double elapsedSeconds) {
+            samples++;
+            cpuPercentSum += cpuPercent;
+            peakCpuPercent = Math.max(peakCpuPercent, cpuPercent);
+            cpuSeconds += cpuPercent / 100.0 * elapsedSeconds;
+            rssBytesSum += rssBytes;
+            peakRssBytes = Math.max(peakRssBytes, rssBytes);
+        }
+
+        private synchronized Usage usage() {
+            return new Usage(
+                samples,
+                samples == 0 ? 0.0 : cpuPercentSum / samples,
+                peakCpuPercent,
+                cpuSeconds,
+                samples == 0 ? 0L : (long) (rssBytesSum / samples),
+                peakRssBytes
+            );
+        }
+    }
+
+    /** CPU is in percent of one core; RSS in bytes. All zero when no sample fell inside the window. */
+    record Usage(
+        int samples,
+        double avgCpuPercent,
+        double peakCpuPercent,
+        double cpuSeconds,
+        long avgRssBytes,
+        long peakRssBytes
+    ) {
+    }
+
+    /** {@code usage} counts each sample once, taken while at least one of the area's {@code tests} ran. */
+    record AreaUsage(int tests, Usage usage) {
+    }
+
+    record Summary(Map<Group, Usage> processes, Map<String, AreaUsage> areas) {
+    }
+}
@@ -0,0 +1,212 @@
+package com.selenium.tests;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Machine-readable results written as each test completes: one JSON object per line in
+ * {@code target/test-results.ndjson} and one {@code <testcase>} per test in a JUnit-XML file. Both are
+ * serialized from the same {@link Entry} and flushed together, so CI and trend tooling can tail them mid-run.
+ * The {@code <testsuite>} totals are unknown until the end, so blank space is reserved in its start tag and
+ * filled in by {@link #close()}.
+ */
+final class ResultFeed implements AutoCloseable {
+    static final Path NDJSON_PATH = Paths.get("target", "test-results.ndjson");
+    static final Path JUNIT_XML_PATH = Paths.get("target", "TEST-com.selenium.tests.App.xml");
+
+    private static final int SUITE_TOTALS_WIDTH = 128;
+
+    private final Writer ndjson;
+    private final FileChannel junitChannel;
+    private final Writer junitXml;
+    private final long suiteTotalsOffset;
+    private int tests;
+    private int failures;
+    private int skipped;
+    private long totalMs;
+
+    private ResultFeed(Writer ndjson, FileChannel junitChannel) throws IOException {
+        this.ndjson = ndjson;
+        this.junitChannel = junitChannel;
+        this.junitXml = Channels.newWriter(junitChannel, StandardCharsets.UTF_8);
+        String timestamp = ZonedDateTime.now(ZoneOffset.UTC).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        String head = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<testsuite name=\"com.selenium.tests.App\" timestamp=\"" + timestamp + "\"";
+        this.suiteTotalsOffset = head.getBytes(StandardCharsets.UTF_8).length;
+        junitXml.write(head + " ".repeat(SUITE_TOTALS_WIDTH) + ">\n");
+        junitXml.flush();
+    }
+
+    static ResultFeed open() throws IOException {
+        for (Path path : new Path[] {NDJSON_PATH, JUNIT_XML_PATH}) {
+            Path parent = path.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+        }
+        return new ResultFeed(
+            Files.newBufferedWriter(NDJSON_PATH, StandardCharsets.UTF_8),
+            FileChannel.open(
+                JUNIT_XML_PATH,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING
+            )
+        );
+    }
+
+    synchronized void append(Entry entry) throws IOException {
+        tests++;
+        switch (entry.status()) {
+            case "FAIL" -> failures++;
+            case "IGNORED", "NOT RUN" -> skipped++;
+            default -> {
+            }
+        }
+        totalMs += Math.max(0L, entry.durationMs());
+
+        ndjson.write(toJson(entry));
+        ndjson.write('\n');
+        ndjson.flush();
+        junitXml.write(toTestCase(entry));
+        junitXml.flush();
+    }
+
+    /** Closes the suite element and writes its totals into the space reserved in the start tag. */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            junitXml.write("</testsuite>\n");
+            junitXml.flush();
+            String totals = String.format(
+                Locale.ROOT,
+                " tests=\"%d\" failures=\"%d\" errors=\"0\" skipped=\"%d\" time=\"%.3f\"",
+                tests,
+                failures,
+                skipped,
+                totalMs / 1000.0
+            );
+            if (totals.length() <= SUITE_TOTALS_WIDTH) {
+                junitChannel.write(ByteBuffer.wrap(totals.getBytes(StandardCharsets.UTF_8)), suiteTotalsOffset);
+            }
+        } finally {
+            junitXml.close();
+            ndjson.close();
+        }
+    }
+
+    private static String toJson(Entry entry) {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"test\":").append(Json.quote(entry.key()))
+            .append(",\"class\":").append(Json.quote(entry.className()))
+            .append(",\"method\":").append(Json.quote(entry.methodName()))
+            .append(",\"status\":").append(Json.quote(entry.status()))
+            .append(",\"durationMs\":").append(entry.durationMs())
+            .append(",\"phaseNanos\":{");
+        boolean first = true;
+        for (Map.Entry<String, Long> phase : entry.phaseNanos().entrySet()) {
+            if (!first) {
+                json.append(',');
+            }
+            json.append(Json.quote(phase.getKey())).append(':').append(phase.getValue());
+            first = false;
+        }
+        json.append('}');
+        if (entry.message() != null) {
+            json.append(",\"message\":").append(Json.quote(entry.message()));
+        }
+        json.append(",\"retries\":").append(entry.retries())
+            .append(",\"retryNanos\":").append(entry.retryNanos())
+            .append(",\"flaky\":").append(entry.flaky());
+        json.append(",\"output\":").append(Json.quote(entry.output())).append('}');
+        return json.toString();
+    }
+
+    private static String toTestCase(Entry entry) {
+        StringBuilder xml = new StringBuilder(256);
+        xml.append("  <testcase name=\"").append(xmlAttribute(entry.methodName()))
+            .append("\" classname=\"").append(xmlAttribute(entry.className()))
+            .append("\" time=\"").append(String.format(Locale.ROOT, "%.3f", Math.max(0L, entry.durationMs()) / 1000.0))
+            .append("\">\n");
+        if (!entry.phaseNanos().isEmpty() || entry.retries() > 0) {
+            xml.append("    <properties>\n");
+            for (Map.Entry<String, Long> phase : entry.phaseNanos().entrySet()) {
+                xml.append("      <property name=\"phase.").append(xmlAttribute(phase.getKey()))
+                    .append(".nanos\" value=\"").append(phase.getValue()).append("\"/>\n");
+            }
+            if (entry.retries() > 0) {
+                xml.append("      <property name=\"retry.count\" value=\"").append(entry.retries()).append("\"/>\n")
+                    .append("      <property name=\"retry.nanos\" value=\"").append(entry.retryNanos()).append("\"/>\n")
+                    .append("      <property name=\"flaky\" value=\"").append(entry.flaky()).append("\"/>\n");
+            }
+            xml.append("    </properties>\n");
+        }
+        switch (entry.status()) {
+            case "FAIL" -> xml.append("    <failure message=\"").append(xmlAttribute(entry.message())).append("\"/>\n");
+            case "IGNORED", "NOT RUN" -> xml.append("    <skipped message=\"").append(xmlAttribute(entry.status()))
+                .append("\"/>\n");
+            default -> {
+            }
+        }
+        if (!entry.output().isEmpty()) {
+            xml.append("    <system-out><![CDATA[")
+                .append(xmlText(entry.output()).replace("]]>", "]]]]><![CDATA[>"))
+                .append("]]></system-out>\n");
+        }
+        return xml.append("  </testcase>\n").toString();
+    }
+
+    private static String xmlAttribute(String value) {
+        return xmlText(value == null ? "" : value)
+            .replace("&", "&amp;")
+            .replace("<", "&lt;")
+            .replace(">", "&gt;")
+            .replace("\"", "&quot;")
+            .replace("\n", "&#10;");
+    }
+
+    /** Drops control characters that XML 1.0 cannot carry even when escaped. */
+    private static String xmlText(String value) {
+        StringBuilder text = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                text.append(c);
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * One completed (or never-run) test. {@code status} uses the report labels (PASS, FAIL, IGNORED, NOT RUN),
+     * {@code phaseNanos} maps lower-case phase names plus {@code other} to nanoseconds, and {@code message}
+     * is only set for failures. {@code flaky} marks a pass that needed at least one of its {@code retries}.
+     */
+    record Entry(
+        String key,
+        String className,
+        String methodName,
+        String status,
+        long durationMs,
+        Map<String, Long> phaseNanos,
+        String message,
+        String output,
+        int retries,
+        long retryNanos,
+        boolean flaky
+    ) {
+    }
+}
@@ -0,0 +1,208 @@
+package com.selenium.tests;
+
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+
+/**
+ * The one retry policy for page loads, element waits and HTTP calls. Whether a failure is retried, and how
+ * often, is decided by the first {@link Rule} matching the error and the kind of operation; POSTs are only
+ * retried when the request never reached the server. Backoff is exponential with full jitter (a uniform
+ * delay up to {@code rule.baseDelayMs * 2^(attempt-1)}, capped at {@code retry.maxDelayMs}), so parallel
+ * workers hitting the same outage spread out instead of retrying in lockstep. While {@link App}'s recorder
+ * has a log open for a test, every retry is written to it and the time lost to failed attempts and backoff
+ * is charged against {@code retry.budgetMs} (20 s by default; {@code 0} disables retries); once the budget
+ * is spent the next failure is thrown as it is.
+ */
+final class RetryPolicy {
+    private static final long BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(Long.getLong("retry.budgetMs", 20_000L));
+    private static final long MAX_DELAY_MS = Long.getLong("retry.maxDelayMs", 5_000L);
+    private static final ThreadLocal<Log> CURRENT = new ThreadLocal<>();
+
+    private static final Set<Kind> HTTP = EnumSet.of(Kind.HTTP_GET, Kind.HTTP_POST);
+    private static final Set<Kind> BROWSER = EnumSet.of(Kind.PAGE_LOAD, Kind.WAIT);
+
+    /** Checked in order, so the specific connect-phase types come before their broader parents. */
+    private static final List<Rule> RULES = List.of(
+        new Rule("connect timeout", HTTP, HttpConnectTimeoutException.class, 3, 250L),
+        new Rule("connection refused", HTTP, ConnectException.class, 3, 250L),
+        new Rule("DNS lookup failed", HTTP, UnknownHostException.class, 2, 1_000L),
+        new Rule("request timeout", EnumSet.of(Kind.HTTP_GET), HttpTimeoutException.class, 2, 500L),
+        new Rule("connection reset", EnumSet.of(Kind.HTTP_GET), SocketException.class, 3, 250L),
+        new Rule("stale element", BROWSER, StaleElementReferenceException.class, 3, 50L),
+        new Rule("page load timeout", EnumSet.of(Kind.PAGE_LOAD), TimeoutException.class, 3, 1_000L)
+    );
+
+    /** Applied by the HTTP callers to 429 and 502-504 responses, which are retried like an error would be. */
+    static final Rule RETRYABLE_STATUS = new Rule("retryable status", EnumSet.of(Kind.HTTP_GET), null, 3, 500L);
+
+    private RetryPolicy() {
+    }
+
+    static void begin() {
+        CURRENT.set(new Log());
+    }
+
+    /** Detaches and returns the current thread's log, or {@code null} if none was open. */
+    static Log end() {
+        Log log = CURRENT.get();
+        CURRENT.remove();
+        return log;
+    }
+
+    static <T, E extends Exception> T run(Kind kind, String operation, Attempt<T, E> attempt) throws E {
+        return run(kind, operation, attempt, result -> null, result -> {
+        });
+    }
+
+    /**
+     * Runs {@code attempt} until it succeeds or its failure may not be retried. {@code retryableResult} names
+     * the reason when a returned value should be retried under {@link #RETRYABLE_STATUS} ({@code null} keeps
+     * it), and {@code discard} releases such a value before the next attempt. When retries run out the last
+     * value is returned, or the last error thrown, unchanged.
+     */
+    static <T, E extends Exception> T run(
+        Kind kind,
+        String operation,
+        Attempt<T, E> attempt,
+        Function<T, String> retryableResult,
+        Consumer<T> discard
+    ) throws E {
+        for (int number = 1; ; number++) {
+            long startedAt = System.nanoTime();
+            try {
+                T result = attempt.run();
+                String reason = retryableResult.apply(result);
+                if (reason == null || !backOff(kind, operation, number, RETRYABLE_STATUS, reason, startedAt)) {
+                    return result;
+                }
+                discard.accept(result);
+            } catch (Exception e) {
+                Rule rule = ruleFor(kind, e);
+                if (rule == null || !backOff(kind, operation, number, rule, describe(e), startedAt)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static Rule ruleFor(Kind kind, Exception error) {
+        for (Rule rule : RULES) {
+            if (rule.kinds().contains(kind) && rule.type().isInstance(error)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /** Records and sleeps out one retry; {@code false} when the rule or the test's budget allows no more. */
+    private static boolean backOff(Kind kind, String operation, int number, Rule rule, String reason, long startedAt) {
+        if (number >= rule.maxAttempts() || !rule.kinds().contains(kind) || BUDGET_NANOS <= 0L) {
+            return false;
+        }
+        long ceilingMs = Math.min(MAX_DELAY_MS, rule.baseDelayMs() << Math.min(number - 1, 20));
+        long delayMs = ThreadLocalRandom.current().nextLong(ceilingMs + 1L);
+        long failedNanos = System.nanoTime() - startedAt;
+        long costNanos = failedNanos + TimeUnit.MILLISECONDS.toNanos(delayMs);
+        Log log = CURRENT.get();
+        if (log != null && !log.charge(costNanos)) {
+            return false;
+        }
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        if (log != null) {
+            log.retries.add(new Retry(kind, operation, number, rule.name(), reason, failedNanos, delayMs));
+        }
+        return true;
+    }
+
+    private static String describe(Exception error) {
+        String message = error.getMessage();
+        String simpleName = error.getClass().getSimpleName();
+        if (message == null || message.isBlank()) {
+            return simpleName;
+        }
+        // Selenium appends build and driver details after the first line.
+        String firstLine = message.strip().lines().findFirst().orElse("");
+        return simpleName + ": " + (firstLine.length() > 120 ? firstLine.substring(0, 120) + "..." : firstLine);
+    }
+
+    enum Kind {
+        PAGE_LOAD("Page load"),
+        WAIT("Wait"),
+        HTTP_GET("HTTP GET"),
+        HTTP_POST("HTTP POST");
+
+        final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+    }
+
+    @FunctionalInterface
+    interface Attempt<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    /** {@code type} is {@code null} for {@link #RETRYABLE_STATUS}, which matches results rather than errors. */
+    record Rule(String name, Set<Kind> kinds, Class<? extends Exception> type, int maxAttempts, long baseDelayMs) {
+    }
+
+    /** One failed attempt that was retried: how long it ran before failing and how long we waited after. */
+    record Retry(
+        Kind kind,
+        String operation,
+        int attempt,
+        String rule,
+        String reason,
+        long failedNanos,
+        long delayMs
+    ) {
+        long costNanos() {
+            return failedNanos + TimeUnit.MILLISECONDS.toNanos(delayMs);
+        }
+    }
+
+    /** The retries of one test, kept on the thread that runs it. */
+    static final class Log {
+        private final List<Retry> retries = new ArrayList<>();
+        private long spentNanos;
+
+        private Log() {
+        }
+
+        /** Reserves {@code nanos} of the budget, or leaves it untouched and returns {@code false}. */
+        private boolean charge(long nanos) {
+            if (spentNanos + nanos > BUDGET_NANOS) {
+                return false;
+            }
+            spentNanos += nanos;
+            return true;
+        }
+
+        List<Retry> retries() {
+            return List.copyOf(retries);
+        }
+
+        long spentNanos() {
+            return spentNanos;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.selenium.tests;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only CSV log of per-test outcomes ({@code run_id,profile,test,status,duration_ms}), one block of
+ * lines per run. Reading it back keeps only the newest {@code maxRuns} runs of one {@link UiProfile}, so
+ * percentiles never mix timings taken under different page-load strategies.
+ */
+final class RunHistory {
+    private static final String HEADER = "run_id,profile,test,status,duration_ms";
+
+    private final Map<Long, Map<String, RunSample>> runs = new LinkedHashMap<>();
+    private final int maxRuns;
+
+    private RunHistory(int maxRuns) {
+        this.maxRuns = Math.max(1, maxRuns);
+    }
+
+    static RunHistory load(Path path, int maxRuns, String profile) throws IOException {
+        RunHistory history = new RunHistory(maxRuns);
+        if (!Files.exists(path)) {
+            return history;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",", -1);
+                if (fields.length != 5 || HEADER.equals(line) || !profile.equals(fields[1])) {
+                    continue;
+                }
+                try {
+                    long runId = Long.parseLong(fields[0]);
+                    long durationMs = Long.parseLong(fields[4]);
+                    history.runs.computeIfAbsent(runId, id -> new LinkedHashMap<>())
+                        .put(fields[2], new RunSample(fields[3], durationMs));
+                    history.trim();
+                } catch (NumberFormatException e) {
+                    // Skip a torn line left by an interrupted run.
+                }
+            }
+        }
+        return history;
+    }
+
+    /**
+     * Opens the log for appending the samples of run {@code runId} one by one as tests complete, so an
+     * interrupted run keeps what it finished. This in-memory view is left as loaded.
+     */
+    static Appender openAppender(Path path, long runId, String profile) throws IOException {
+        boolean newFile = !Files.exists(path);
+        Path parent = path.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        BufferedWriter writer = Files.newBufferedWriter(
+            path,
+            StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.APPEND
+        );
+        if (newFile) {
+            writer.write(HEADER);
+            writer.newLine();
+            writer.flush();
+        }
+        return new Appender(writer, runId, profile);
+    }
+
+    /** Durations of {@code testKey} across the runs in view, oldest first, excluding {@code runId} if given. */
+    List<Long> durations(String testKey, Long excludingRunId) {
+        return durations(testKey, excludingRunId, false);
+    }
+
+    /**
+     * Like {@link #durations(String, Long)} but only for runs where the test passed, for latency baselines:
+     * a failure that sat out a long wait says nothing about how fast the test normally is.
+     */
+    List<Long> passedDurations(String testKey, Long excludingRunId) {
+        return durations(testKey, excludingRunId, true);
+    }
+
+    private List<Long> durations(String testKey, Long excludingRunId, boolean passedOnly) {
+        List<Long> durations = new ArrayList<>();
+        for (Map.Entry<Long, Map<String, RunSample>> run : runs.entrySet()) {
+            if (run.getKey().equals(excludingRunId)) {
+                continue;
+            }
+            RunSample sample = run.getValue().get(testKey);
+            if (sample != null && (!passedOnly || "PASS".equals(sample.status()))) {
+                durations.add(sample.durationMs());
+            }
+        }
+        return durations;
+    }
+
+    /** Number of runs in view where {@code testKey} was recorded as failed. */
+    int failures(String testKey) {
+        int failures = 0;
+        for (Map<String, RunSample> run : runs.values()) {
+            RunSample sample = run.get(testKey);
+            if (sample != null && "FAIL".equals(sample.status())) {
+                failures++;
+            }
+        }
+        return failures;
+    }
+
+    int runCount() {
+        return runs.size();
+    }
+
+    private void trim() {
+        while (runs.size() > maxRuns) {
+            runs.remove(runs.keySet().iterator().next());
+        }
+    }
+
+    /** Nearest-rank percentile; {@code -1} for an empty sample. */
+    static long percentile(List<Long> values, double percentile) {
+        if (values.isEmpty()) {
+            return -1L;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+
+    record RunSample(String status, long durationMs) {
+    }
+
+    static final class Appender implements Closeable {
+        private final BufferedWriter writer;
+        private final long runId;
+        private final String profile;
+
+        private Appender(BufferedWriter writer, long runId, String profile) {
+            this.writer = writer;
+            this.runId = runId;
+            this.profile = profile;
+        }
+
+        void append(String testKey, RunSample sample) throws IOException {
+            writer.write(runId + "," + profile + "," + testKey + "," + sample.status() + "," + sample.durationMs());
+            writer.newLine();
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
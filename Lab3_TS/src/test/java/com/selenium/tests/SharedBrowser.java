@@ -0,0 +1,204 @@
+package com.selenium.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.WebSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+/**
+ * The single Chrome process behind {@code -Dui.isolation=context}. Each test gets its own CDP browser context
+ * (separate cookies, storage and cache, like an incognito profile) opened over the browser-level DevTools
+ * socket, and drives it through a ChromeDriver session attached with {@code debuggerAddress}. Attached
+ * sessions cost a chromedriver process rather than a browser, and each keeps its own current window, so
+ * tests can run side by side in one Chrome. Disposing the context closes its page and drops all of its state.
+ */
+final class SharedBrowser {
+    private static final long CDP_TIMEOUT_SECONDS = 30L;
+
+    private static SharedBrowser instance;
+
+    private final ChromeDriver host;
+    private final String debuggerAddress;
+    private final WebSocket devTools;
+    private final Map<Integer, CompletableFuture<Map<String, String>>> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    private SharedBrowser(ChromeDriver host) throws IOException {
+        this.host = host;
+        Object chromeOptions = host.getCapabilities().getCapability("goog:chromeOptions");
+        Object address = chromeOptions instanceof Map<?, ?> map ? map.get("debuggerAddress") : null;
+        if (address == null) {
+            throw new IOException("ChromeDriver did not report a debuggerAddress");
+        }
+        this.debuggerAddress = address.toString();
+
+        HttpClient client = HttpClient.newHttpClient();
+        try {
+            Map<String, String> version;
+            try (InputStream body = client.send(
+                HttpRequest.newBuilder(URI.create("http://" + debuggerAddress + "/json/version")).build(),
+                BodyHandlers.ofInputStream()
+            ).body()) {
+                version = BookJsonReader.readScalarFields(body);
+            }
+            String socketUrl = version.get("webSocketDebuggerUrl");
+            if (socketUrl == null) {
+                throw new IOException("No webSocketDebuggerUrl in /json/version of " + debuggerAddress);
+            }
+            this.devTools = client.newWebSocketBuilder()
+                .buildAsync(URI.create(socketUrl), new Responses())
+                .get(CDP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while connecting to " + debuggerAddress);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IOException("Could not open the DevTools socket of " + debuggerAddress, e);
+        }
+    }
+
+    static synchronized SharedBrowser get() {
+        if (instance == null) {
+            ChromeDriver host = (ChromeDriver) DriverPool.createDriver();
+            try {
+                instance = new SharedBrowser(host);
+            } catch (IOException | RuntimeException e) {
+                host.quit();
+                throw new WebDriverException("Could not share the browser: " + e.getMessage(), e);
+            }
+        }
+        return instance;
+    }
+
+    /** Closes the DevTools socket and the browser, if one was started. */
+    static synchronized void shutdown() {
+        if (instance != null) {
+            instance.devTools.abort();
+            instance.host.quit();
+            instance = null;
+        }
+    }
+
+    /** A new WebDriver session on the shared browser. Quitting it later leaves the browser running. */
+    ChromeDriver attach() {
+        ChromeOptions options = new ChromeOptions();
+        options.setPageLoadStrategy(UiProfile.ACTIVE.pageLoadStrategy());
+        options.setExperimentalOption("debuggerAddress", debuggerAddress);
+        ChromeDriver driver = new ChromeDriver(options);
+        driver.manage().timeouts().scriptTimeout(DomWaits.SCRIPT_TIMEOUT);
+        return driver;
+    }
+
+    /** Opens a blank page in a fresh browser context, points {@code driver} at it and returns the context id. */
+    String openContext(ChromeDriver driver) {
+        String contextId = call("Target.createBrowserContext", "{\"disposeOnDetach\":true}", "browserContextId");
+        try {
+            String targetId = call(
+                "Target.createTarget",
+                "{\"url\":\"about:blank\",\"browserContextId\":" + Json.quote(contextId)
+                    + ",\"width\":1280,\"height\":720}",
+                "targetId"
+            );
+            // ChromeDriver uses DevTools target ids as window handles.
+            driver.switchTo().window(targetId);
+            AdBlocking.install(driver);
+            return contextId;
+        } catch (RuntimeException e) {
+            closeContext(contextId);
+            throw e;
+        }
+    }
+
+    void closeContext(String contextId) {
+        call("Target.disposeBrowserContext", "{\"browserContextId\":" + Json.quote(contextId) + "}", null);
+    }
+
+    /**
+     * Sends one browser-level CDP command, waits for its reply and returns the string {@code resultField} of
+     * the reply's {@code result}, or {@code null} when {@code resultField} is {@code null}.
+     */
+    private String call(String method, String paramsJson, String resultField) {
+        int id = nextId.incrementAndGet();
+        CompletableFuture<Map<String, String>> response = new CompletableFuture<>();
+        pending.put(id, response);
+        try {
+            String command = "{\"id\":" + id + ",\"method\":\"" + method + "\",\"params\":" + paramsJson + "}";
+            // WebSocket allows one outstanding send at a time.
+            synchronized (devTools) {
+                devTools.sendText(command, true).get(CDP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+            Map<String, String> reply = response.get(CDP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (reply.containsKey("error.code") || reply.containsKey("error.message")) {
+                throw new WebDriverException(method + " failed: " + reply.get("error.message"));
+            }
+            if (resultField == null) {
+                return null;
+            }
+            String value = reply.get("result." + resultField);
+            if (value == null) {
+                throw new WebDriverException("No " + resultField + " in the reply to " + method + ": " + reply);
+            }
+            return value;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted during " + method, e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new WebDriverException(method + " did not complete", e);
+        } finally {
+            pending.remove(id);
+        }
+    }
+
+    /**
+     * Joins fragmented frames and completes the pending call whose id a reply carries at its top level; events
+     * have no id and are ignored, as are messages that do not parse.
+     */
+    private final class Responses implements WebSocket.Listener {
+        private final StringBuilder message = new StringBuilder();
+
+        @Override
+        public CompletionStage<?> onText(WebSocket socket, CharSequence data, boolean last) {
+            message.append(data);
+            if (last) {
+                byte[] json = message.toString().getBytes(StandardCharsets.UTF_8);
+                message.setLength(0);
+                try {
+                    Map<String, String> reply = BookJsonReader.readNestedFields(new ByteArrayInputStream(json));
+                    String id = reply.get("id");
+                    CompletableFuture<Map<String, String>> response =
+                        id == null ? null : pending.get(Integer.valueOf(id));
+                    if (response != null) {
+                        response.complete(reply);
+                    }
+                } catch (IOException | NumberFormatException e) {
+                    // Not a reply to any call; the caller times out if its reply was lost this way.
+                }
+            }
+            socket.request(1);
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket socket, Throwable error) {
+            for (CompletableFuture<Map<String, String>> response : pending.values()) {
+                response.completeExceptionally(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.selenium.tests;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Report metadata for a JUnit {@code @Test} method; a class with none is not part of the suite.
+ * {@code TestCaseIndexProcessor} copies it, together with every {@code @Test} method of the class, into a
+ * classpath index at compile time, and {@link TestCatalog} reads that index so {@link App} neither keeps its
+ * own list of tests nor reflects over them at startup.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@interface TestCase {
+    /** Display name in the report, e.g. {@code "UI - Sort Books By Title"}. */
+    String name();
+
+    /** Report area: UI, API or Security. */
+    String area();
+
+    /** Positive or Negative. */
+    String type();
+
+    String expected();
+
+    /** Actual-behaviour text reported when the test passes. */
+    String actualOnPass();
+
+    /** Position in the catalogue and the report, lowest first; the suite runs UI, then API, then Security. */
+    int order();
+}
@@ -0,0 +1,195 @@
+package com.selenium.tests;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+import org.junit.Test;
+
+/**
+ * The suite's tests and their {@link TestCase} metadata. Normally read from the index that
+ * {@code TestCaseIndexProcessor} writes while the test sources compile, so startup costs one small resource
+ * read. Builds without the processor (e.g. an IDE compile) fall back to scanning this package on the
+ * classpath. Either way only classes with a {@link TestCase} are part of the suite, so the harness's own unit
+ * tests stay out of the report and run under surefire alone.
+ */
+final class TestCatalog {
+    static final String INDEX_RESOURCE = "META-INF/selenium-tests/test-cases.index";
+
+    private final List<Case> cases;
+
+    private TestCatalog(List<Case> cases) {
+        cases.sort(Comparator.comparingInt(Case::order).thenComparing(Case::key));
+        this.cases = List.copyOf(cases);
+    }
+
+    static TestCatalog load() {
+        ClassLoader loader = TestCatalog.class.getClassLoader();
+        try (InputStream index = loader.getResourceAsStream(INDEX_RESOURCE)) {
+            return index != null ? fromIndex(index, loader) : scan(loader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + INDEX_RESOURCE, e);
+        }
+    }
+
+    List<Case> cases() {
+        return cases;
+    }
+
+    /** Distinct test classes in catalogue order, as JUnit expects them. */
+    Class<?>[] testClasses() {
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        for (Case testCase : cases) {
+            classes.add(testCase.testClass());
+        }
+        return classes.toArray(new Class<?>[0]);
+    }
+
+    private static TestCatalog fromIndex(InputStream index, ClassLoader loader) throws IOException {
+        List<Case> cases = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(index, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] fields = line.split("\t", -1);
+            if (fields.length != 2 && fields.length != 8) {
+                throw new IOException("Malformed line in " + INDEX_RESOURCE + ": " + line);
+            }
+            Metadata metadata = fields.length == 8
+                ? new Metadata(
+                    unescape(fields[2]),
+                    unescape(fields[3]),
+                    unescape(fields[4]),
+                    unescape(fields[5]),
+                    unescape(fields[6]),
+                    Integer.parseInt(fields[7])
+                )
+                : null;
+            cases.add(new Case(loadClass(unescape(fields[0]), loader), fields[1], metadata));
+        }
+        return new TestCatalog(cases);
+    }
+
+    private static TestCatalog scan(ClassLoader loader) throws IOException {
+        String packagePath = TestCatalog.class.getPackageName().replace('.', '/');
+        List<String> classNames = new ArrayList<>();
+        Path root;
+        try {
+            root = Path.of(TestCatalog.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException("Cannot locate test classes", e);
+        }
+
+        if (Files.isDirectory(root)) {
+            try (Stream<Path> files = Files.list(root.resolve(packagePath))) {
+                files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(".class") && !name.contains("$"))
+                    .forEach(name -> classNames.add(
+                        TestCatalog.class.getPackageName() + "." + name.substring(0, name.length() - 6)
+                    ));
+            }
+        } else {
+            try (JarFile jar = new JarFile(root.toFile())) {
+                Enumeration<JarEntry> entries = jar.entries();
+                while (entries.hasMoreElements()) {
+                    String name = entries.nextElement().getName();
+                    if (name.startsWith(packagePath + "/") && name.endsWith(".class") && !name.contains("$")
+                        && name.indexOf('/', packagePath.length() + 1) < 0) {
+                        classNames.add(name.substring(0, name.length() - 6).replace('/', '.'));
+                    }
+                }
+            }
+        }
+
+        List<Case> cases = new ArrayList<>();
+        for (String className : classNames) {
+            Class<?> clazz = loadClass(className, loader);
+            if (Modifier.isAbstract(clazz.getModifiers())) {
+                continue;
+            }
+            List<Case> classCases = new ArrayList<>();
+            boolean inSuite = false;
+            for (Method method : clazz.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(Test.class)) {
+                    TestCase testCase = method.getAnnotation(TestCase.class);
+                    inSuite |= testCase != null;
+                    classCases.add(new Case(clazz, method.getName(), testCase == null ? null : Metadata.of(testCase)));
+                }
+            }
+            if (inSuite) {
+                cases.addAll(classCases);
+            }
+        }
+        return new TestCatalog(cases);
+    }
+
+    /** Loads without initializing, so static setup in helpers (e.g. starting the local site) stays lazy. */
+    private static Class<?> loadClass(String name, ClassLoader loader) {
+        try {
+            return Class.forName(name, false, loader);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Indexed test class " + name + " is not on the classpath", e);
+        }
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder text = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char escaped = value.charAt(++i);
+                text.append(escaped == 't' ? '\t' : escaped == 'n' ? '\n' : escaped);
+            } else {
+                text.append(c);
+            }
+        }
+        return text.toString();
+    }
+
+    /** One {@code @Test} method; {@code metadata} is {@code null} when it has no {@link TestCase}. */
+    record Case(Class<?> testClass, String methodName, Metadata metadata) {
+        String key() {
+            return testClass.getSimpleName() + "#" + methodName;
+        }
+
+        /** {@link TestCase#order()}; tests without one go after all the others. */
+        int order() {
+            return metadata == null ? Integer.MAX_VALUE : metadata.order();
+        }
+    }
+
+    /** Report metadata from {@link TestCase}, as read from the index or the annotation itself. */
+    record Metadata(String name, String area, String type, String expected, String actualOnPass, int order) {
+        static Metadata of(TestCase testCase) {
+            return new Metadata(
+                testCase.name(),
+                testCase.area(),
+                testCase.type(),
+                testCase.expected(),
+                testCase.actualOnPass(),
+                testCase.order()
+            );
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.selenium.tests;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Orders the suite from {@link RunHistory} ({@code -Dschedule=history}, the default; {@code catalog} keeps
+ * catalogue order). Each test is estimated by the p50 of its recorded durations ({@code schedule.defaultMs}
+ * when it has none) and by its failure rate with add-one smoothing, so a new test starts at 50%.
+ * Sequential runs go by failure probability per expected millisecond, highest first, to surface a likely
+ * failure as early as possible. Parallel runs go longest-processing-time first: the slowest classes start
+ * at once and the short ones fill the gaps left on each lane, which keeps the critical path short.
+ */
+final class TestScheduler {
+    static final boolean ENABLED = "history".equals(System.getProperty("schedule", "history"));
+
+    private static final long DEFAULT_ESTIMATE_MS = Long.getLong("schedule.defaultMs", 5000L);
+
+    private final Map<String, Estimate> tests = new LinkedHashMap<>();
+    private final Map<Class<?>, Estimate> classes = new LinkedHashMap<>();
+
+    TestScheduler(TestCatalog catalog, RunHistory history) {
+        for (TestCatalog.Case testCase : catalog.cases()) {
+            List<Long> durations = history.durations(testCase.key(), null);
+            long expectedMs = durations.isEmpty() ? DEFAULT_ESTIMATE_MS : RunHistory.percentile(durations, 50);
+            double failureProbability = (history.failures(testCase.key()) + 1.0) / (durations.size() + 2.0);
+            Estimate estimate = new Estimate(expectedMs, failureProbability);
+            tests.put(testCase.key(), estimate);
+            classes.merge(testCase.testClass(), estimate, Estimate::combine);
+        }
+    }
+
+    /** Classes with the highest chance of failing per expected millisecond first. */
+    List<Class<?>> failureFirst() {
+        return sorted(Comparator.comparingDouble(Estimate::urgency).reversed());
+    }
+
+    /** Classes by expected duration, longest first, for list scheduling onto parallel lanes. */
+    List<Class<?>> longestFirst() {
+        return sorted(Comparator.comparingLong(Estimate::expectedMs).reversed());
+    }
+
+    /** Orders tests within a class by {@link Estimate#urgency()}, keyed as {@code SimpleClass#method}. */
+    Comparator<String> testOrder() {
+        Estimate unknown = new Estimate(DEFAULT_ESTIMATE_MS, 0.5);
+        return Comparator.comparingDouble((String key) -> tests.getOrDefault(key, unknown).urgency()).reversed();
+    }
+
+    /** Stable, so classes with equal estimates keep catalogue order. */
+    private List<Class<?>> sorted(Comparator<Estimate> order) {
+        List<Class<?>> sorted = new ArrayList<>(classes.keySet());
+        sorted.sort(Comparator.comparing(classes::get, order));
+        return sorted;
+    }
+
+    /** Expected run time and probability of at least one failure, for a test or a whole class. */
+    record Estimate(long expectedMs, double failureProbability) {
+        double urgency() {
+            return failureProbability / Math.max(1L, expectedMs);
+        }
+
+        /** Tests of one class run back to back and fail independently. */
+        Estimate combine(Estimate other) {
+            return new Estimate(
+                expectedMs + other.expectedMs,
+                1.0 - (1.0 - failureProbability) * (1.0 - other.failureProbability)
+            );
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.selenium.tests;
+
+/**
+ * Resolves the site every test targets. Defaults to the public demoqa.com; {@code -Dsite.baseUrl=...}
+ * points the suite elsewhere and {@code -Dsite.local=true} starts {@link LocalBookStore} on loopback.
+ */
+final class TestSite {
+    static final String BASE_URL = resolveBaseUrl();
+
+    private TestSite() {
+    }
+
+    static boolean isLocal() {
+        return Boolean.getBoolean("site.local");
+    }
+
+    static boolean isHttps() {
+        return BASE_URL.startsWith("https://");
+    }
+
+    private static String resolveBaseUrl() {
+        if (isLocal()) {
+            return LocalBookStore.start();
+        }
+        String baseUrl = System.getProperty("site.baseUrl", "https://demoqa.com");
+        return baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+}
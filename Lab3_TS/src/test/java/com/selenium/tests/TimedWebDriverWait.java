@@ -0,0 +1,24 @@
+package com.selenium.tests;
+
+import java.time.Duration;
+import java.util.function.Function;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/** {@link WebDriverWait} that records every {@code until} call as a {@link PhaseTimings.Phase#WAIT} span. */
+final class TimedWebDriverWait extends WebDriverWait {
+    TimedWebDriverWait(WebDriver driver, Duration timeout) {
+        super(driver, timeout);
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        try (PhaseTimings.Scope ignored = PhaseTimings.start(PhaseTimings.Phase.WAIT, describe(isTrue))) {
+            return super.until(isTrue);
+        }
+    }
+
+    private static String describe(Function<?, ?> condition) {
+        return condition.getClass().isSynthetic() ? "custom condition" : String.valueOf(condition);
+    }
+}
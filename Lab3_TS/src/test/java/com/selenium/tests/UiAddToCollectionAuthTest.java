@@ -7,9 +7,16 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 
 public class UiAddToCollectionAuthTest extends UiDriverTestBase {
-    private static final long NO_DATA_DELAY_MS = 2_000;
-
     @Test
+    @TestCase(
+        name = "UI - Block Add To Collection When Logged Out",
+        area = "UI",
+        type = "Negative",
+        expected = "Unauthenticated add-to-collection should be blocked (alert/redirect)"
+            + " or handled by no-data fallback.",
+        actualOnPass = "Observed unauthorized flow was blocked as expected.",
+        order = 70
+    )
     public void shouldRequireLoginToAddToCollection() {
         UiTestSupport.openHomePage(driver, wait);
         waitUntilBookLinksPresent(1);
@@ -17,14 +24,13 @@ public class UiAddToCollectionAuthTest extends UiDriverTestBase {
         safeClick(By.cssSelector(".rt-tbody .rt-tr-group a"));
         wait.until(ExpectedConditions.urlContains("book="));
 
-        By addToCollectionButton = By.xpath("//button[normalize-space()='Add To Your Collection']");
-        if (!isVisible(addToCollectionButton, 5)) {
+        String addToCollectionXpath = "//button[normalize-space()='Add To Your Collection']";
+        if (firstVisible(5, addToCollectionXpath) < 0) {
             System.out.println("ok the link exists but there's no data");
-            pauseBriefly(NO_DATA_DELAY_MS);
             return;
         }
 
-        safeClick(addToCollectionButton);
+        safeClick(By.xpath(addToCollectionXpath));
 
         if (isAlertPresent(5)) {
             String alertText = driver.switchTo().alert().getText().toLowerCase();
@@ -43,4 +49,35 @@ public class UiAddToCollectionAuthTest extends UiDriverTestBase {
                 || driver.getPageSource().toLowerCase().contains("login")
         );
     }
+
+    @Test
+    @TestCase(
+        name = "UI - Add Book To Collection With Seeded Session",
+        area = "UI",
+        type = "Positive",
+        expected = "With an API-issued session in the browser, adding a book should be"
+            + " confirmed or reported as present.",
+        actualOnPass = "Observed add-to-collection confirmation for the seeded user.",
+        order = 71
+    )
+    public void shouldAddBookToCollectionWhenLoggedIn() {
+        loginViaApi();
+        UiTestSupport.openHomePage(driver, wait);
+        waitUntilBookLinksPresent(1);
+
+        safeClick(By.cssSelector(".rt-tbody .rt-tr-group a"));
+        wait.until(ExpectedConditions.urlContains("book="));
+
+        String addToCollectionXpath = "//button[normalize-space()='Add To Your Collection']";
+        assertTrue("Expected the Add To Your Collection button", firstVisible(5, addToCollectionXpath) >= 0);
+        safeClick(By.xpath(addToCollectionXpath));
+
+        assertTrue("Expected a confirmation alert", isAlertPresent(5));
+        String alertText = driver.switchTo().alert().getText().toLowerCase();
+        driver.switchTo().alert().accept();
+        assertTrue(
+            "Expected the book to be added or already present, got: " + alertText,
+            alertText.contains("added") || alertText.contains("already present")
+        );
+    }
 }
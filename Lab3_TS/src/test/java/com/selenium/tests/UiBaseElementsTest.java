@@ -8,6 +8,14 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 
 public class UiBaseElementsTest extends UiDriverTestBase {
     @Test
+    @TestCase(
+        name = "UI - Display Base Elements On Home Page",
+        area = "UI",
+        type = "Positive",
+        expected = "Book store home page should show search box, login button, table, and Book Store content.",
+        actualOnPass = "Observed core home page controls and Book Store content.",
+        order = 10
+    )
     public void shouldDisplayBaseElementsOnHomePage() {
         UiTestSupport.openHomePage(driver, wait);
 
@@ -2,6 +2,7 @@ package com.selenium.tests;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.List;
 import org.junit.Test;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
@@ -9,6 +10,14 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 
 public class UiBookSearchFilterTest extends UiDriverTestBase {
     @Test
+    @TestCase(
+        name = "UI - Filter Book List By Search Term",
+        area = "UI",
+        type = "Positive",
+        expected = "Searching for 'Git Pocket Guide' should leave exactly one row with that title.",
+        actualOnPass = "Observed search reduced table to one row titled 'Git Pocket Guide'.",
+        order = 40
+    )
     public void shouldFilterBooksBySearch() {
         UiTestSupport.openHomePage(driver, wait);
 
@@ -18,8 +27,7 @@ public class UiBookSearchFilterTest extends UiDriverTestBase {
         searchBox.clear();
         searchBox.sendKeys("Git Pocket Guide");
 
-        wait.until(d -> d.findElements(By.cssSelector(".rt-tbody .rt-tr-group a")).size() == 1);
-        WebElement onlyLink = driver.findElement(By.cssSelector(".rt-tbody .rt-tr-group a"));
-        assertEquals("Git Pocket Guide", onlyLink.getText().trim());
+        List<BookTable.Row> rows = waitForBookRows(r -> r.size() == 1);
+        assertEquals("Git Pocket Guide", rows.get(0).title());
     }
 }
@@ -1,24 +1,98 @@
 package com.selenium.tests;
 
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.text.Collator;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
 import org.junit.Test;
 import org.openqa.selenium.By;
+import org.openqa.selenium.support.ui.Select;
 
 public class UiBookTitleSortingTest extends UiDriverTestBase {
+    private final Collator collator = collator();
+
     @Test
+    @TestCase(
+        name = "UI - Sort Books By Title",
+        area = "UI",
+        type = "Positive",
+        expected = "Clicking Title should order rows ascending, then descending, under locale-aware comparison.",
+        actualOnPass = "Observed ascending then descending title order after each header click.",
+        order = 50
+    )
     public void shouldSortBooksByTitle() {
         UiTestSupport.openHomePage(driver, wait);
-        waitUntilBookLinksPresent(2);
-
-        List<String> before = getBookTitles();
+        List<BookTable.Row> before = waitForBookRows(rows -> rows.size() >= 2);
         assertTrue("Expected at least two books before sorting", before.size() >= 2);
 
-        safeClick(By.xpath("//div[contains(@class,'rt-th') and normalize-space()='Title']"));
+        List<BookTable.Row> ascending = sortBy("Title");
+        assertSorted("Title", ascending, BookTable.Row::title, 1);
+
+        List<BookTable.Row> descending = sortBy("Title");
+        assertSorted("Title", descending, BookTable.Row::title, -1);
+    }
+
+    @Test
+    @TestCase(
+        name = "UI - Sort Books By Author And Publisher Across Pages",
+        area = "UI",
+        type = "Positive",
+        expected = "With 5 rows per page, Author and Publisher sorting should hold in"
+            + " both directions across all pages.",
+        actualOnPass = "Observed ascending and descending Author and Publisher order across every page.",
+        order = 51
+    )
+    public void shouldSortAuthorAndPublisherAcrossPages() {
+        UiTestSupport.openHomePage(driver, wait);
         waitUntilBookLinksPresent(2);
+        new Select(driver.findElement(By.cssSelector("select[aria-label='rows per page']"))).selectByValue("5");
+        waitForBookRows(rows -> rows.size() <= 5);
+
+        verifySortCycleAcrossPages("Author", BookTable.Row::author);
+        verifySortCycleAcrossPages("Publisher", BookTable.Row::publisher);
+    }
+
+    private void verifySortCycleAcrossPages(String column, Function<BookTable.Row, String> field) {
+        sortBy(column);
+        assertSorted(column, readAllBookPages(), field, 1);
+
+        sortBy(column);
+        assertSorted(column, readAllBookPages(), field, -1);
+    }
+
+    /** Clicks the header, records its re-render latency and returns the current page's rows afterwards. */
+    private List<BookTable.Row> sortBy(String column) {
+        double renderMs = BookTable.clickHeaderAndMeasureRender(driver, column);
+        UiLatencyMetrics.record("Sort re-render: " + column, renderMs);
+        return waitForBookRows(rows -> !rows.isEmpty());
+    }
+
+    /** Single pass over one snapshot; {@code direction} is 1 for ascending and -1 for descending. */
+    private void assertSorted(
+        String column,
+        List<BookTable.Row> rows,
+        Function<BookTable.Row, String> field,
+        int direction
+    ) {
+        assertTrue("Expected at least two books to verify " + column + " order", rows.size() >= 2);
+        for (int i = 1; i < rows.size(); i++) {
+            String previous = field.apply(rows.get(i - 1));
+            String current = field.apply(rows.get(i));
+            if (collator.compare(previous, current) * direction > 0) {
+                fail(
+                    column + " is not sorted " + (direction > 0 ? "ascending" : "descending") + " at row " + i
+                        + ": '" + previous + "' before '" + current + "'"
+                );
+            }
+        }
+    }
 
-        List<String> after = getBookTitles();
-        assertTrue("Expected at least two books after sorting click", after.size() >= 2);
+    private static Collator collator() {
+        Collator collator = Collator.getInstance(Locale.ENGLISH);
+        collator.setStrength(Collator.SECONDARY);
+        return collator;
     }
 }
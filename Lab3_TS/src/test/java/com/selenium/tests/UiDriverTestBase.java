@@ -3,80 +3,113 @@ package com.selenium.tests;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import org.junit.After;
+import org.junit.Assume;
 import org.junit.Before;
 import org.openqa.selenium.By;
 import org.openqa.selenium.ElementClickInterceptedException;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 public abstract class UiDriverTestBase {
+    private static final Map<String, By> SIDE_MENU_ITEMS = new ConcurrentHashMap<>();
+    private static final Map<String, By> BUTTONS = new ConcurrentHashMap<>();
+
     protected WebDriver driver;
     protected WebDriverWait wait;
+    protected ElementCache elements;
 
     @Before
     public void setUp() {
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--window-size=1280,720");
-        options.addArguments("--disable-gpu");
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-
-        if (Boolean.parseBoolean(System.getProperty("headless", "false"))) {
-            options.addArguments("--headless=new");
-        }
-
-        driver = new ChromeDriver(options);
-        wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        driver = DriverPool.shared().lease();
+        wait = new TimedWebDriverWait(driver, Duration.ofSeconds(15));
+        elements = new ElementCache(driver);
     }
 
     @After
     public void tearDown() {
         if (driver != null) {
-            driver.quit();
+            DriverPool.shared().release(driver);
+            driver = null;
         }
     }
 
+    /**
+     * Starts this test already logged in: the token comes from the Account API (cached across tests) and is
+     * written into the browser, so no login form is driven. Skips the test when no credentials are configured.
+     */
+    protected AuthSession.Session loginViaApi() {
+        Assume.assumeTrue("No -Dbookstore.user/-Dbookstore.password configured", AuthSession.hasCredentials());
+        AuthSession.Session session = AuthSession.current();
+        AuthSession.seed(driver, session);
+        return session;
+    }
+
     protected void waitUntilBookLinksPresent(int minCount) {
-        wait.until(d -> d.findElements(By.cssSelector(".rt-tbody .rt-tr-group a")).size() >= minCount);
+        waitForBookRows(rows -> rows.size() >= minCount);
+    }
+
+    /** Re-reads the book table (one round-trip per poll) until {@code condition} holds and returns that snapshot. */
+    protected List<BookTable.Row> waitForBookRows(Predicate<List<BookTable.Row>> condition) {
+        return wait.until(d -> {
+            List<BookTable.Row> rows = BookTable.snapshot(d);
+            return condition.test(rows) ? rows : null;
+        });
     }
 
     protected void clickSideMenuItem(String label) {
-        By locator = By.xpath("//span[normalize-space()='" + label + "']");
-        safeClick(locator);
+        safeClick(SIDE_MENU_ITEMS.computeIfAbsent(label, l -> By.xpath("//span[normalize-space()='" + l + "']")));
     }
 
     protected void clickButtonByText(String text) {
-        By locator = By.xpath("//button[normalize-space()='" + text + "']");
-        safeClick(locator);
+        safeClick(BUTTONS.computeIfAbsent(text, t -> By.xpath("//button[normalize-space()='" + t + "']")));
     }
 
+    /**
+     * Clicks {@code locator} once it is visible, enabled and on top, falling back to a JS click when it stays
+     * covered or the click is intercepted. A handle that went stale is dropped and the click retried.
+     */
     protected void safeClick(By locator) {
-        UiTestSupport.removeAds(driver);
-        WebElement element = wait.until(ExpectedConditions.presenceOfElementLocated(locator));
-        ((JavascriptExecutor) driver).executeScript(
-            "arguments[0].scrollIntoView({block: 'center', inline: 'nearest'});",
-            element
-        );
+        RetryPolicy.run(RetryPolicy.Kind.WAIT, "click " + locator, () -> {
+            if (!AdBlocking.isEnabled()) {
+                UiTestSupport.removeAds(driver);
+            }
+            try {
+                clickWhenReady(locator);
+            } catch (StaleElementReferenceException e) {
+                elements.evict(locator);
+                throw e;
+            }
+            return null;
+        });
+    }
+
+    private void clickWhenReady(By locator) {
         try {
-            wait.until(ExpectedConditions.elementToBeClickable(locator)).click();
+            WebElement clickable = wait.until(d -> elements.clickable(locator));
+            try (PhaseTimings.Scope ignored = PhaseTimings.start(PhaseTimings.Phase.CLICK, locator.toString())) {
+                clickable.click();
+            }
         } catch (ElementClickInterceptedException | TimeoutException e) {
             UiTestSupport.removeAds(driver);
-            element = wait.until(ExpectedConditions.presenceOfElementLocated(locator));
-            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
+            WebElement element = wait.until(d -> elements.present(locator));
+            try (PhaseTimings.Scope ignored = PhaseTimings.start(PhaseTimings.Phase.CLICK, "js " + locator)) {
+                ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
+            }
         }
     }
 
     protected boolean isVisible(By locator, int timeoutSeconds) {
         try {
-            new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds))
-                .until(ExpectedConditions.visibilityOfElementLocated(locator));
+            new TimedWebDriverWait(driver, Duration.ofSeconds(timeoutSeconds)).until(d -> elements.visible(locator));
             return true;
         } catch (TimeoutException e) {
             return false;
@@ -85,7 +118,7 @@ public abstract class UiDriverTestBase {
 
     protected boolean isAlertPresent(int timeoutSeconds) {
         try {
-            new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds))
+            new TimedWebDriverWait(driver, Duration.ofSeconds(timeoutSeconds))
                 .until(ExpectedConditions.alertIsPresent());
             return true;
         } catch (TimeoutException e) {
@@ -93,23 +126,34 @@ public abstract class UiDriverTestBase {
         }
     }
 
-    protected void pauseBriefly(long millis) {
-        try {
-            Thread.sleep(millis);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    /**
+     * Event-driven alternative to chained {@link #isVisible} calls: returns the index of the first selector
+     * that becomes visible, or {@code -1}, with all alternatives sharing one {@code timeoutSeconds} deadline.
+     */
+    protected int firstVisible(int timeoutSeconds, String... selectors) {
+        return DomWaits.firstVisible(driver, Duration.ofSeconds(timeoutSeconds), selectors);
+    }
+
+    /** Goes to the first table page and concatenates the snapshots of every page in display order. */
+    protected List<BookTable.Row> readAllBookPages() {
+        By previous = By.cssSelector(".-previous button");
+        By next = By.cssSelector(".-next button");
+        while (elements.read(previous, WebElement::isEnabled)) {
+            List<BookTable.Row> page = BookTable.snapshot(driver);
+            safeClick(previous);
+            waitForBookRows(rows -> !rows.equals(page));
+        }
+
+        List<BookTable.Row> all = new ArrayList<>(BookTable.snapshot(driver));
+        while (elements.read(next, WebElement::isEnabled)) {
+            List<BookTable.Row> page = BookTable.snapshot(driver);
+            safeClick(next);
+            all.addAll(waitForBookRows(rows -> !rows.isEmpty() && !rows.equals(page)));
         }
+        return all;
     }
 
     protected List<String> getBookTitles() {
-        List<WebElement> links = driver.findElements(By.cssSelector(".rt-tbody .rt-tr-group a"));
-        List<String> titles = new ArrayList<>();
-        for (WebElement link : links) {
-            String text = link.getText().trim();
-            if (!text.isEmpty()) {
-                titles.add(text);
-            }
-        }
-        return titles;
+        return BookTable.titles(BookTable.snapshot(driver));
     }
 }
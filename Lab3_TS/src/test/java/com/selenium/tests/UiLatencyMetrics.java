@@ -0,0 +1,28 @@
+package com.selenium.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/** Browser-side latency samples (e.g. table re-render after a sort click) that {@link App} reports per metric. */
+final class UiLatencyMetrics {
+    private static final Map<String, Queue<Double>> SAMPLES = new ConcurrentHashMap<>();
+
+    private UiLatencyMetrics() {
+    }
+
+    static void record(String metric, double millis) {
+        SAMPLES.computeIfAbsent(metric, name -> new ConcurrentLinkedQueue<>()).add(millis);
+    }
+
+    /** Samples per metric, metrics sorted by name and samples in recording order. */
+    static Map<String, List<Double>> snapshot() {
+        Map<String, List<Double>> snapshot = new TreeMap<>();
+        SAMPLES.forEach((metric, samples) -> snapshot.put(metric, new ArrayList<>(samples)));
+        return snapshot;
+    }
+}
@@ -9,6 +9,14 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 
 public class UiLoginNavigationTest extends UiDriverTestBase {
     @Test
+    @TestCase(
+        name = "UI - Navigate To Login Form",
+        area = "UI",
+        type = "Positive",
+        expected = "Login button should navigate to /login and show username/password fields.",
+        actualOnPass = "Observed navigation to /login with username and password fields visible.",
+        order = 20
+    )
     public void shouldNavigateToLoginForm() {
         UiTestSupport.openHomePage(driver, wait);
 
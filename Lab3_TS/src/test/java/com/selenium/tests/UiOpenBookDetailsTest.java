@@ -5,9 +5,15 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 
 public class UiOpenBookDetailsTest extends UiDriverTestBase {
-    private static final long NO_DATA_DELAY_MS = 2_000;
-
     @Test
+    @TestCase(
+        name = "UI - Open Book Details From List",
+        area = "UI",
+        type = "Positive",
+        expected = "Opening a book should show details and return to store, or report a no-data fallback.",
+        actualOnPass = "Observed book details flow completed or no-data fallback was triggered.",
+        order = 60
+    )
     public void shouldOpenBookDetailsFromList() {
         UiTestSupport.openHomePage(driver, wait);
         waitUntilBookLinksPresent(1);
@@ -15,13 +21,11 @@ public class UiOpenBookDetailsTest extends UiDriverTestBase {
         safeClick(By.cssSelector(".rt-tbody .rt-tr-group a"));
         wait.until(ExpectedConditions.urlContains("book="));
 
-        boolean hasBookDetails =
-            isVisible(By.id("ISBN-wrapper"), 5) || isVisible(By.id("title-wrapper"), 5);
+        boolean hasBookDetails = firstVisible(5, "#ISBN-wrapper", "#title-wrapper") >= 0;
 
         if (!hasBookDetails) {
             System.out.println("ok the link exists but there's no data");
-            pauseBriefly(NO_DATA_DELAY_MS);
-            driver.navigate().to("https://demoqa.com/books");
+            driver.navigate().to(UiTestSupport.BASE_URL);
             wait.until(ExpectedConditions.urlContains("/books"));
             return;
         }
@@ -0,0 +1,75 @@
+package com.selenium.tests;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+/**
+ * Chrome load profile selected with {@code -Dui.profile=standard|fast|minimal}. Leaner profiles stop
+ * waiting for {@code document.readyState == complete} and skip images, web fonts and extensions, leaving
+ * readiness to {@link UiTestSupport}'s core-element wait. The active profile is printed in the report.
+ */
+enum UiProfile {
+    STANDARD(PageLoadStrategy.NORMAL, Set.of("complete"), false),
+    FAST(PageLoadStrategy.EAGER, Set.of("interactive", "complete"), true),
+    MINIMAL(PageLoadStrategy.NONE, Set.of(), true);
+
+    static final UiProfile ACTIVE = fromProperty(System.getProperty("ui.profile", "standard"));
+
+    private static final List<String> FONT_PATTERNS = List.of("*.woff2*", "*.woff*", "*.ttf*", "*.otf*");
+
+    private final PageLoadStrategy pageLoadStrategy;
+    private final Set<String> readyStates;
+    private final boolean lean;
+
+    UiProfile(PageLoadStrategy pageLoadStrategy, Set<String> readyStates, boolean lean) {
+        this.pageLoadStrategy = pageLoadStrategy;
+        this.readyStates = readyStates;
+        this.lean = lean;
+    }
+
+    String id() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    PageLoadStrategy pageLoadStrategy() {
+        return pageLoadStrategy;
+    }
+
+    void apply(ChromeOptions options) {
+        options.setPageLoadStrategy(pageLoadStrategy);
+        if (lean) {
+            options.addArguments("--disable-extensions");
+            options.setExperimentalOption("prefs", Map.of("profile.managed_default_content_settings.images", 2));
+        }
+    }
+
+    /** Extra URL patterns to block over CDP; Chrome has no preference that disables web fonts. */
+    List<String> blockedUrlPatterns() {
+        return lean ? FONT_PATTERNS : List.of();
+    }
+
+    /** Whether navigation has to wait for {@code document.readyState} at all. */
+    boolean waitsForReadyState() {
+        return !readyStates.isEmpty();
+    }
+
+    boolean isReady(Object readyState) {
+        return readyStates.contains(String.valueOf(readyState));
+    }
+
+    private static UiProfile fromProperty(String value) {
+        for (UiProfile profile : values()) {
+            if (profile.id().equals(value.strip().toLowerCase(Locale.ROOT))) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException(
+            "Unknown ui.profile '" + value + "', expected one of " + Arrays.toString(values()).toLowerCase(Locale.ROOT)
+        );
+    }
+}
@@ -0,0 +1,31 @@
+package com.selenium.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+public class UiProfileSessionTest extends UiDriverTestBase {
+    @Test
+    @TestCase(
+        name = "UI - Show Profile For Seeded Session",
+        area = "UI",
+        type = "Positive",
+        expected = "Cookies and storage seeded from an API login should open /profile as"
+            + " that user without the login form.",
+        actualOnPass = "Observed profile page showing the seeded user name.",
+        order = 80
+    )
+    public void shouldShowProfileForSeededSession() {
+        AuthSession.Session session = loginViaApi();
+
+        driver.navigate().to(TestSite.BASE_URL + "/profile");
+        WebElement userName = wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("userName-value")));
+
+        assertEquals("Expected profile to show the seeded user", session.userName(), userName.getText().trim());
+        assertTrue("Expected to stay on the profile page", driver.getCurrentUrl().contains("/profile"));
+    }
+}
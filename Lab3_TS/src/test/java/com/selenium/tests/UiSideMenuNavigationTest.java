@@ -5,6 +5,14 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 
 public class UiSideMenuNavigationTest extends UiDriverTestBase {
     @Test
+    @TestCase(
+        name = "UI - Navigate Sections From Side Menu",
+        area = "UI",
+        type = "Positive",
+        expected = "Side menu should navigate to /profile and back to /books.",
+        actualOnPass = "Observed side menu navigation to /profile then back to /books.",
+        order = 30
+    )
     public void shouldUseSideMenuToNavigateSections() {
         UiTestSupport.openHomePage(driver, wait);
 
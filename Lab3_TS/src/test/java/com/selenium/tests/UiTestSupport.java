@@ -10,8 +10,7 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 final class UiTestSupport {
-    private static final String BASE_URL = "https://demoqa.com/books";
-    private static final int MAX_ATTEMPTS = 3;
+    static final String BASE_URL = TestSite.BASE_URL + "/books";
 
     private UiTestSupport() {
     }
@@ -20,26 +19,27 @@ final class UiTestSupport {
         openUrlWithRetries(driver, wait, BASE_URL);
     }
 
+    /**
+     * Loads {@code url} and waits for the book page to be usable, retrying timeouts under {@link RetryPolicy}.
+     * Ads are cleared after a timeout in case an overlay is what held the page up.
+     */
     static void openUrlWithRetries(WebDriver driver, WebDriverWait wait, String url) {
-        TimeoutException lastError = null;
-        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+        RetryPolicy.run(RetryPolicy.Kind.PAGE_LOAD, "open " + url, () -> {
             try {
-                driver.get(url);
+                try (PhaseTimings.Scope ignored = PhaseTimings.start(PhaseTimings.Phase.NAVIGATION, url)) {
+                    driver.get(url);
+                }
                 waitForReadyState(driver, wait);
-                removeAds(driver);
+                if (!AdBlocking.isEnabled()) {
+                    removeAds(driver);
+                }
                 waitForCoreElements(wait);
-                return;
+                return null;
             } catch (TimeoutException e) {
-                lastError = e;
                 removeAds(driver);
-                if (attempt < MAX_ATTEMPTS) {
-                    driver.navigate().refresh();
-                }
+                throw e;
             }
-        }
-        if (lastError != null) {
-            throw lastError;
-        }
+        });
     }
 
     static void removeAds(WebDriver driver) {
@@ -62,7 +62,10 @@ final class UiTestSupport {
     }
 
     private static void waitForReadyState(WebDriver driver, WebDriverWait wait) {
-        wait.until(d -> "complete".equals(
+        if (!UiProfile.ACTIVE.waitsForReadyState()) {
+            return;
+        }
+        wait.until(d -> UiProfile.ACTIVE.isReady(
             ((JavascriptExecutor) d).executeScript("return document.readyState")
         ));
     }